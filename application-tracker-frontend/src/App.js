@@ -25,18 +25,44 @@ function App() {
   const [authMode, setAuthMode] = useState('login');
   const [isLoggedIn, setIsLoggedIn] = useState(false); // State to track authentication status
   const [showApplicationFormAndList, setShowApplicationFormAndList] = useState(false); // New state to control visibility
+  const [accessToken, setAccessToken] = useState(null); // Bearer token from /api/auth/signin, kept in memory only
 
   // Base URL for your Spring Boot backend
   const API_BASE_URL = 'http://localhost:8080/api/applications';
+  // Largest page the list endpoint returns
+  const PAGE_SIZE = 100;
 
-  // Function to fetch all applications from the backend
+  // Every /api/applications request needs the token from sign-in; a 401 means it expired or was rejected
+  const apiFetch = async (url, options = {}) => {
+    const response = await fetch(url, {
+      ...options,
+      headers: { ...options.headers, Authorization: `Bearer ${accessToken}` },
+    });
+    if (response.status === 401) {
+      handleSessionExpired();
+    }
+    return response;
+  };
+
+  // Function to fetch all applications from the backend. The list comes in pages of summaries (no notes),
+  // newest first: follow nextCursor until the last page.
   const fetchApplications = async () => {
     try {
-      const response = await fetch(API_BASE_URL);
-      if (!response.ok) {
-        throw new Error(`HTTP error! status: ${response.status}`);
-      }
-      const data = await response.json();
+      const data = [];
+      let cursor = null;
+      do {
+        const params = new URLSearchParams({ limit: PAGE_SIZE });
+        if (cursor) {
+          params.set('cursor', cursor);
+        }
+        const response = await apiFetch(`${API_BASE_URL}?${params}`);
+        if (!response.ok) {
+          throw new Error(`HTTP error! status: ${response.status}`);
+        }
+        const page = await response.json();
+        data.push(...page.items);
+        cursor = page.nextCursor;
+      } while (cursor);
       setApplications(data);
       calculateStatusCounts(data);
     } catch (error) {
@@ -44,6 +70,16 @@ function App() {
     }
   };
 
+  // Full applications, notes included, for the spreadsheet download: the NDJSON export has one per line
+  const fetchFullApplications = async () => {
+    const response = await apiFetch(`${API_BASE_URL}/export?format=ndjson`);
+    if (!response.ok) {
+      throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    const text = await response.text();
+    return text.split('\n').filter(line => line).map(line => JSON.parse(line));
+  };
+
   // Function to calculate status counts (for the Dashboard)
   const calculateStatusCounts = (apps) => {
     const counts = {};
@@ -80,7 +116,7 @@ function App() {
         },
         body: requestBody,
       };
-      const response = await fetch(API_BASE_URL, fetchOptions);
+      const response = await apiFetch(API_BASE_URL, fetchOptions);
       if (!response.ok) {
         let errorMessage = `HTTP error! status: ${response.status}`;
         try {
@@ -106,10 +142,15 @@ function App() {
         method: 'PUT',
         headers: {
           'Content-Type': 'application/json',
+          // Only apply the edit to the version that was loaded into the form
+          ...(editingApplication && editingApplication.etag ? { 'If-Match': editingApplication.etag } : {}),
         },
         body: requestBody,
       };
-      const response = await fetch(`${API_BASE_URL}/${id}`, fetchOptions);
+      const response = await apiFetch(`${API_BASE_URL}/${id}`, fetchOptions);
+      if (response.status === 412) {
+        throw new Error('This application was changed elsewhere. Reload it and try again.');
+      }
       if (!response.ok) {
         let errorMessage = `HTTP error! status: ${response.status}`;
         try {
@@ -131,7 +172,7 @@ function App() {
 
   const deleteApplication = async (id) => {
     try {
-      const response = await fetch(`${API_BASE_URL}/${id}`, {
+      const response = await apiFetch(`${API_BASE_URL}/${id}`, {
         method: 'DELETE',
       });
       if (!response.ok) {
@@ -154,16 +195,28 @@ function App() {
     }
   };
 
-  const handleEdit = (application) => {
-    setEditingApplication(application);
+  // List rows are summaries without notes: load the full application, and its ETag for If-Match, to edit it
+  const handleEdit = async (application) => {
+    try {
+      const response = await apiFetch(`${API_BASE_URL}/${application.id}`);
+      if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+      }
+      const fullApplication = await response.json();
+      setEditingApplication({ ...fullApplication, etag: response.headers.get('ETag') });
+    } catch (error) {
+      console.error("Error loading application:", error);
+      alert(`Failed to load application: ${error.message}`);
+    }
   };
 
   const handleCancelEdit = () => {
     setEditingApplication(null);
   };
 
-  // Handle successful login/signup
-  const handleAuthSuccess = () => {
+  // Handle successful login/signup; session is the /api/auth/signin response
+  const handleAuthSuccess = (session) => {
+    setAccessToken(session.accessToken);
     setIsLoggedIn(true);
     setShowAuthPage(false);
     setCurrentPage('tracker'); // Navigate to tracker page after login/signup
@@ -172,11 +225,22 @@ function App() {
 
   // Handle logout
   const handleLogout = () => {
+    setAccessToken(null);
+    setApplications([]);
     setIsLoggedIn(false);
     setCurrentPage('home');
     alert('Logged out successfully!');
   };
 
+  const handleSessionExpired = () => {
+    setAccessToken(null);
+    setApplications([]);
+    setIsLoggedIn(false);
+    setShowAuthPage(true);
+    setAuthMode('login');
+    alert('Your session has expired. Please sign in again.');
+  };
+
   // Determine main content class based on the current page and login status
   const mainContentClass = currentPage === 'home' || showAuthPage
       ? 'w-full p-0' // Full width and no padding for homepage or auth pages
@@ -232,7 +296,7 @@ function App() {
                 {/* Always show Dashboard on tracker page when logged in, as per request */}
                 <div className="bg-white p-6 rounded-lg shadow-md mb-8">
                   <h2 className="text-2xl font-bold text-gray-800 mb-4">Application Status Dashboard</h2>
-                  <Dashboard allApplications={applications} statusCounts={statusCounts} />
+                  <Dashboard allApplications={applications} statusCounts={statusCounts} loadFullApplications={fetchFullApplications} />
                 </div>
 
                 {showApplicationFormAndList && (
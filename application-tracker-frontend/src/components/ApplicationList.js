@@ -17,7 +17,6 @@ export function ApplicationList({ applications, onEdit, onDelete }) {
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Status</th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Date Applied</th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Last Updated</th>
-                    <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Notes</th>
                     <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Actions</th>
                 </tr>
                 </thead>
@@ -41,7 +40,6 @@ export function ApplicationList({ applications, onEdit, onDelete }) {
                         <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-700">
                             {app.lastUpdated ? new Date(app.lastUpdated).toLocaleString() : 'N/A'}
                         </td>
-                        <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-700 max-w-xs overflow-hidden text-ellipsis">{app.notes}</td>
                         <td className="px-6 py-4 whitespace-nowrap text-sm font-medium rounded-br-lg">
                             <button
                                 onClick={() => onEdit(app)}
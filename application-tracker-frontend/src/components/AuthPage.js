@@ -1,6 +1,25 @@
 import React, { useState } from 'react';
 import { GradientBackground } from './GradientBackground';
 
+// Base URL for the Spring Boot sign-up and sign-in endpoints
+const AUTH_BASE_URL = 'http://localhost:8080/api/auth';
+
+// Posts the credentials and returns the parsed response, or throws with the server's message
+const postCredentials = async (path, email, password) => {
+    const response = await fetch(`${AUTH_BASE_URL}/${path}`, {
+        method: 'POST',
+        headers: {
+            'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ email, password }),
+    });
+    if (!response.ok) {
+        const errorText = await response.text();
+        throw new Error(errorText || `HTTP error! status: ${response.status}`);
+    }
+    return response.json();
+};
+
 export function AuthPage({ mode, onAuthSuccess, onClose, onSwitchMode }) {
     const [email, setEmail] = useState('');
     const [password, setPassword] = useState('');
@@ -13,19 +32,32 @@ export function AuthPage({ mode, onAuthSuccess, onClose, onSwitchMode }) {
     const emailAuthText = isLoginMode ? 'Or sign in with email' : 'Or sign up with email';
 
 
-    const handleSubmit = (e) => {
+    // The sign-in response carries the access token the app sends on every /api/applications request
+    const signIn = async () => {
+        onAuthSuccess(await postCredentials('signin', email, password));
+    };
+
+    const handleSubmit = async (e) => {
         e.preventDefault();
         if (isLoginMode) {
             if (email && password) {
-                alert(`Signing in with Email: ${email}`);
-                onAuthSuccess();
+                try {
+                    await signIn();
+                } catch (error) {
+                    alert(`Sign in failed: ${error.message}`);
+                }
             } else {
                 alert('Please enter email and password.');
             }
         } else { // Signup mode
             if (email && password && confirmPassword && password === confirmPassword) {
-                alert(`Signing up with Email: ${email}`);
-                onAuthSuccess();
+                try {
+                    // Signing up does not return a token, so sign in with the new account straight away
+                    await postCredentials('signup', email, password);
+                    await signIn();
+                } catch (error) {
+                    alert(`Sign up failed: ${error.message}`);
+                }
             } else if (password !== confirmPassword) {
                 alert('Passwords do not match.');
             } else {
@@ -34,12 +66,9 @@ export function AuthPage({ mode, onAuthSuccess, onClose, onSwitchMode }) {
         }
     };
 
+    // Not backed by the API yet: there is no token to sign in with
     const handleSocialAuth = (provider) => {
-        alert(`${isLoginMode ? 'Signing in' : 'Signing up'} with ${provider}... (Integration coming soon!)`);
-        // Simulate success after a short delay
-        setTimeout(() => {
-            onAuthSuccess();
-        }, 1000);
+        alert(`${isLoginMode ? 'Signing in' : 'Signing up'} with ${provider} is coming soon! Please use your email for now.`);
     };
 
     return (
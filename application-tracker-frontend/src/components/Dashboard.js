@@ -11,7 +11,7 @@ const getFormattedDate = (date) => {
     return `${year}-${month}-${day}`;
 };
 
-export function Dashboard({ allApplications, statusCounts }) {
+export function Dashboard({ allApplications, statusCounts, loadFullApplications }) {
     const [dateFilter, setDateFilter] = useState('last7days'); // Default to last 7 days
     const [activeStatuses, setActiveStatuses] = useState([]);
 
@@ -89,12 +89,24 @@ export function Dashboard({ allApplications, statusCounts }) {
 
     const activeTotalApplications = chartData.reduce((sum, entry) => sum + entry.value, 0);
 
-    const exportToExcel = () => {
+    const exportToExcel = async () => {
         if (filteredApplicationsForDashboard.length === 0) {
             alert("No applications to export based on current filter.");
             return;
         }
 
+        // The list only has summaries; notes come from the full export
+        const notesById = {};
+        try {
+            (await loadFullApplications()).forEach(app => {
+                notesById[app.id] = app.notes;
+            });
+        } catch (error) {
+            console.error("Error loading notes for export:", error);
+            alert(`Failed to export applications: ${error.message}`);
+            return;
+        }
+
         const dataToExport = filteredApplicationsForDashboard.map(app => ({
             ID: app.id,
             Company: app.company,
@@ -102,7 +114,7 @@ export function Dashboard({ allApplications, statusCounts }) {
             Status: app.status,
             'Date Applied': app.dateApplied,
             'Last Updated': app.lastUpdated ? new Date(app.lastUpdated).toLocaleString() : 'N/A',
-            Notes: app.notes
+            Notes: notesById[app.id]
         }));
 
         const worksheet = XLSX.utils.json_to_sheet(dataToExport);
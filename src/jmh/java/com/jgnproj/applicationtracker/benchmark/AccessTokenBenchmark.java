@@ -0,0 +1,56 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import com.jgnproj.applicationtracker.service.AuthenticatedUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating with an access token (AccessTokenFilter). Compare with the
+// PasswordEncoderBenchmark numbers: verifying a token should be a few microseconds, with no database round trip.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenBenchmark {
+
+    private AccessTokenService accessTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        accessTokenService = new AccessTokenService(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofHours(1));
+        token = accessTokenService.issue(42L, "user@example.com");
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> verify() {
+        return accessTokenService.verify(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<AuthenticatedUser> verifyContended() {
+        return accessTokenService.verify(token); // Shared service, as under concurrent requests
+    }
+
+    @Benchmark
+    public String issue() {
+        return accessTokenService.issue(42L, "user@example.com");
+    }
+}
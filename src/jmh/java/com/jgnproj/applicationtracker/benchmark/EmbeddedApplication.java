@@ -0,0 +1,30 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.ApplicationtrackerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The real application context (services, repositories, caches, password hashing) on an in-memory H2
+// database and without the web server, so the service benchmarks need nothing running. The migrations are
+// PostgreSQL-only, so Hibernate creates the schema. The numbers are for comparing one change with the next,
+// not a substitute for measuring against PostgreSQL.
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return new SpringApplicationBuilder(ApplicationtrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
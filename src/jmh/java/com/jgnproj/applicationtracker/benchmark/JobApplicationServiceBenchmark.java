@@ -0,0 +1,94 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import com.jgnproj.applicationtracker.service.JobApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// The service calls behind the list, create and update endpoints, through the Spring proxies (transactions,
+// caches, change events) down to the database, see EmbeddedApplication.
+// list reads the first page of a user with `applications` rows; create writes to a separate user so the
+// listed user's size stays fixed; update rewrites the seeded rows in turn with one UPDATE each.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobApplicationServiceBenchmark {
+
+    private static final Long LIST_USER_ID = 1L;
+    private static final Long CREATE_USER_ID = 2L;
+
+    @Param({"100", "10000"})
+    private int applications;
+
+    private ConfigurableApplicationContext context;
+    private JobApplicationService jobApplicationService;
+    private List<Long> ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("service-benchmark");
+        jobApplicationService = context.getBean(JobApplicationService.class);
+
+        List<JobApplication> rows = new ArrayList<>(applications);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < applications; i++) {
+            JobApplication application = new JobApplication(LIST_USER_ID, "Company " + i, "Engineer",
+                    ApplicationStatus.APPLIED, LocalDate.of(2024, 1, 1).plusDays(i % 365), null);
+            application.setLastUpdated(now.minusMinutes(i));
+            rows.add(application);
+        }
+        ids = new ArrayList<>(applications);
+        for (JobApplication saved : context.getBean(JobApplicationRepository.class).saveAll(rows)) {
+            ids.add(saved.getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApplicationPage listFirstPage() {
+        return jobApplicationService.listApplications(LIST_USER_ID, null, JobApplicationService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public JobApplication create() {
+        return jobApplicationService.createApplication(new JobApplication(CREATE_USER_ID, "Acme", "Engineer",
+                ApplicationStatus.APPLIED, LocalDate.of(2024, 5, 1), "Referred by a friend"));
+    }
+
+    @Benchmark
+    public Optional<JobApplication> update() {
+        Long id = ids.get(next++ % ids.size());
+        JobApplication details = new JobApplication(LIST_USER_ID, "Company " + id, "Senior Engineer",
+                ApplicationStatus.APPLIED, LocalDate.of(2024, 5, 1), null);
+        return jobApplicationService.updateApplication(id, LIST_USER_ID, null, details);
+    }
+}
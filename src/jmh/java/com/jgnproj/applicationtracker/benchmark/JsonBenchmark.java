@@ -0,0 +1,91 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the application payloads: writing a list page of summaries (GET /api/applications), the
+// same rows as full entities with notes (what the list used to send), and reading a list of applications as a
+// batch request body carries them. Sizes: the default page, the largest page and the largest batch
+// (JobApplicationService.DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE, MAX_BATCH_SIZE).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"20", "100", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private ApplicationPage page;
+    private List<JobApplication> applications;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Configured like Spring Boot's auto-configured mapper (java.time module, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, JobApplication.class);
+
+        applications = new ArrayList<>(size);
+        List<ApplicationSummary> summaries = new ArrayList<>(size);
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        for (int i = 0; i < size; i++) {
+            JobApplication application = new JobApplication((long) i, 1L, "Company " + i, "Software Engineer",
+                    statuses[i % statuses.length], LocalDate.of(2024, 1, 1).plusDays(i),
+                    i % 3 == 0 ? "Recruiter call scheduled. Prepare the system design round, re-read the job post "
+                            + "and the notes from the first interview, and have questions about the team ready." : null,
+                    LocalDateTime.of(2024, 6, 1, 9, 0).plusMinutes(i));
+            application.setVersion((long) i % 5);
+            applications.add(application);
+            summaries.add(new ApplicationSummary(application.getId(), application.getCompany(), application.getPosition(),
+                    application.getStatus(), application.getDateApplied(), application.getLastUpdated(), application.getVersion()));
+        }
+        page = new ApplicationPage(summaries, "MjAyNC0wNi0wMVQwOTowMHwxMjM");
+        json = objectMapper.writeValueAsBytes(applications);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeEntities() throws IOException {
+        return objectMapper.writeValueAsBytes(applications);
+    }
+
+    @Benchmark
+    public List<JobApplication> readList() throws IOException {
+        return objectMapper.readValue(json, listType);
+    }
+}
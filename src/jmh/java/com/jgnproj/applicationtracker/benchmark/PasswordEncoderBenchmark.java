@@ -0,0 +1,62 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Measures the per-call cost of the candidate password encoders so the configured
+// strength (app.security.password.*) can be picked against a latency budget.
+// Throughput gives sign-ins per second per core; SampleTime gives the p50/p99 a user waits.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    // "<algorithm>:<cost>" - bcrypt cost is the log2 round count, pbkdf2 cost is the iteration count
+    @Param({"bcrypt:8", "bcrypt:10", "bcrypt:12", "pbkdf2:310000"})
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        String[] parts = encoder.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        passwordEncoder = switch (parts[0]) {
+            case "bcrypt" -> new BCryptPasswordEncoder(cost);
+            case "pbkdf2" -> new Pbkdf2PasswordEncoder("", 16, cost,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            default -> throw new IllegalArgumentException("Unknown encoder: " + encoder);
+        };
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD); // Sign-up and rehash path
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword); // Sign-in path
+    }
+}
@@ -0,0 +1,55 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.service.TokenBucketTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the per-request rate-limit check (RateLimitFilter) under contention.
+// hotKey: every thread hammers one client's bucket, the worst case for CAS retries.
+// manyKeys: threads spread over 10k clients, the normal case (map lookup + uncontended CAS).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private TokenBucketTable table;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Huge budget so the benchmark measures the check itself, not the rejection path
+        table = new TokenBucketTable(1_000_000, 1_000_000_000.0, 100_000);
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "user:" + i;
+        }
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return table.tryAcquire(keys[0]);
+    }
+
+    @Benchmark
+    public long manyKeys() {
+        return table.tryAcquire(keys[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+}
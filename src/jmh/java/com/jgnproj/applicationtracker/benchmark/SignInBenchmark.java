@@ -0,0 +1,69 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.model.User;
+import com.jgnproj.applicationtracker.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// The UserService calls a sign-in makes (see UserController.signIn), with the configured password encoder
+// and hashing pool, see EmbeddedApplication. lookup is the user fetch alone, which the cache should keep
+// far below the hash check; wrongPassword is the failed sign-in.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignInBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("sign-in-benchmark");
+        userService = context.getBean(UserService.class);
+        userService.registerNewUser(EMAIL, PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> lookup() {
+        return userService.findByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public User signIn() {
+        User user = userService.findByEmail(EMAIL).orElseThrow();
+        if (!userService.checkPassword(PASSWORD, user.getPasswordHash())) {
+            throw new IllegalStateException("Password did not match");
+        }
+        return userService.upgradePasswordIfNeeded(user, PASSWORD);
+    }
+
+    @Benchmark
+    public boolean wrongPassword() {
+        User user = userService.findByEmail(EMAIL).orElseThrow();
+        return userService.checkPassword("not the password", user.getPasswordHash());
+    }
+}
@@ -0,0 +1,57 @@
+package com.jgnproj.applicationtracker.benchmark;
+
+import com.jgnproj.applicationtracker.ApplicationtrackerApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Time to a started application context, with the schema managed by Hibernate (ddl-auto=update, which
+// introspects every table on boot) versus by Flyway (history check, then ddl-auto=validate).
+// Needs a PostgreSQL database already at the latest migration; point it elsewhere with
+// -Dspring.datasource.url=... (and username/password). Warm-up boots load the classes, so the measured
+// difference is the schema work rather than class loading.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+public class StartupBenchmark {
+
+    @Param({"ddl-update", "flyway-validate"})
+    private String schemaManagement;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext boot() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ApplicationtrackerApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN");
+        if ("ddl-update".equals(schemaManagement)) {
+            builder.properties("spring.jpa.hibernate.ddl-auto=update", "spring.flyway.enabled=false");
+        }
+        context = builder.run();
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
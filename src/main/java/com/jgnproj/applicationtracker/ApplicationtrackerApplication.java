@@ -2,14 +2,22 @@ package com.jgnproj.applicationtracker;
 
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @SpringBootApplication
+@EnableScheduling
 public class ApplicationtrackerApplication {
 
 	public static void main(String[] args) {
@@ -26,14 +34,73 @@ public class ApplicationtrackerApplication {
 						.allowedOrigins("http://localhost:3000") // Allow requests from React dev server
 						.allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
 						.allowedHeaders("*")
+						.exposedHeaders("ETag") // Let the frontend read versions for If-Match / If-None-Match
 						.allowCredentials(true);
 			}
 		};
 	}
 
-	// Bean for password encoding
+	// Iteration count of "{pbkdf2}" hashes, stored before the count became part of the id
+	static final int LEGACY_PBKDF2_ITERATIONS = 310000;
+	private static final String PBKDF2_ID_PREFIX = "pbkdf2-";
+
+	// Bean for password encoding. New hashes are stored as "{id}hash" using the configured encoding id;
+	// hashes from older ids or a lower BCrypt strength are upgraded on the user's next successful sign-in
+	// (see UserService.upgradePasswordIfNeeded). Each +1 of BCrypt strength doubles the cost of a sign-in.
+	// A PBKDF2 hash doesn't record its iteration count, so the count goes into the id ("{pbkdf2-600000}"):
+	// changing pbkdf2-iterations then upgrades hashes like a strength change, and older hashes still verify.
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${app.security.password.encoding-id:bcrypt}") String encodingId,
+										   @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+										   @Value("${app.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations) {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+		String pbkdf2Id = PBKDF2_ID_PREFIX + pbkdf2Iterations;
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put("bcrypt", bcrypt);
+		encoders.put("pbkdf2", pbkdf2(LEGACY_PBKDF2_ITERATIONS));
+		encoders.put(pbkdf2Id, pbkdf2(pbkdf2Iterations));
+
+		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+				"pbkdf2".equals(encodingId) ? pbkdf2Id : encodingId, encoders);
+		passwordEncoder.setDefaultPasswordEncoderForMatches(new UnregisteredIdMatcher(bcrypt));
+		return passwordEncoder;
+	}
+
+	private static PasswordEncoder pbkdf2(int iterations) {
+		return new Pbkdf2PasswordEncoder("", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+	}
+
+	// Checks the hashes whose id has no registered encoder: PBKDF2 hashes made with an earlier iteration count,
+	// and hashes stored before ids were introduced, which are plain BCrypt without a prefix
+	private static final class UnregisteredIdMatcher implements PasswordEncoder {
+
+		private final PasswordEncoder bcrypt;
+
+		private UnregisteredIdMatcher(PasswordEncoder bcrypt) {
+			this.bcrypt = bcrypt;
+		}
+
+		// DelegatingPasswordEncoder never encodes with its matches fallback; should anything else, new hashes
+		// come out as plain BCrypt, which matches() still accepts
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return bcrypt.encode(rawPassword);
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String prefixEncodedPassword) {
+			String prefix = "{" + PBKDF2_ID_PREFIX;
+			int end = prefixEncodedPassword == null ? -1 : prefixEncodedPassword.indexOf('}');
+			if (end > 0 && prefixEncodedPassword.startsWith(prefix)) {
+				int iterations;
+				try {
+					iterations = Integer.parseInt(prefixEncodedPassword.substring(prefix.length(), end));
+				} catch (NumberFormatException e) {
+					return false;
+				}
+				return pbkdf2(iterations).matches(rawPassword, prefixEncodedPassword.substring(end + 1));
+			}
+			return bcrypt.matches(rawPassword, prefixEncodedPassword);
+		}
 	}
 }
\ No newline at end of file
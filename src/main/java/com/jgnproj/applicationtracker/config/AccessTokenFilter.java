@@ -0,0 +1,63 @@
+package com.jgnproj.applicationtracker.config;
+
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Populates the security context from "Authorization: Bearer <token>". Requests without a valid token pass
+// through unauthenticated and are rejected by SecurityConfig wherever authentication is required.
+// Not a @Component: Spring Boot would otherwise also register it as a plain servlet filter.
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    // EventSource cannot send headers, so the SSE endpoint also accepts the token as a query parameter
+    private static final String EVENTS_PATH = "/api/applications/events";
+    private static final String TOKEN_PARAM = "access_token";
+
+    private final AccessTokenService accessTokenService;
+
+    public AccessTokenFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        accessTokenService.verify(extractToken(request)).ifPresent(user ->
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(user, null, List.of())));
+        filterChain.doFilter(request, response);
+    }
+
+    // Streaming exports and SSE complete on an async dispatch, which is authorized again. Nothing is stored in a
+    // session, so re-verify the token there too; it costs one HMAC.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    private static String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        if (EVENTS_PATH.equals(request.getRequestURI())) {
+            return request.getParameter(TOKEN_PARAM);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jgnproj.applicationtracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Users by email, read on every sign-in
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    // Single applications, keyed by "userId:id" so a lookup is always scoped to the owner
+    public static final String APPLICATIONS = "applications";
+
+    // Specs use Caffeine's syntax (maximumSize, expireAfterWrite, ...). Keep recordStats so hit/miss/eviction
+    // counts show up under /actuator/metrics/cache.* for sizing.
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.users-by-email.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String usersByEmailSpec,
+                                     @Value("${app.cache.applications.spec:maximumSize=50000,expireAfterWrite=5m,recordStats}") String applicationsSpec) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.registerCustomCache(USERS_BY_EMAIL, Caffeine.from(usersByEmailSpec).build());
+        caffeine.registerCustomCache(APPLICATIONS, Caffeine.from(applicationsSpec).build());
+        // Puts and evictions made inside a transaction only apply after it commits, so a concurrent read
+        // can't re-cache the old row between the eviction and the commit
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
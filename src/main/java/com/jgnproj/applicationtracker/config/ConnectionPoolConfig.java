@@ -0,0 +1,44 @@
+package com.jgnproj.applicationtracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class ConnectionPoolConfig {
+
+    static final String CONNECTIONS_PER_CORE = "app.datasource.pool.connections-per-core";
+
+    // Sizes the primary pool from the core count when spring.datasource.hikari.maximum-pool-size isn't set
+    // (the replica pool is sized the same way by ReadReplicaConfig). Runs after the spring.datasource.hikari.*
+    // properties are bound and before the pool starts on first use.
+    // Static and reading the Environment directly, as bean post-processors are created before other beans.
+    @Bean
+    public static BeanPostProcessor connectionPoolSizing(Environment environment) {
+        int connectionsPerCore = connectionsPerCore(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    sizeIfUnset(pool, connectionsPerCore);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static int connectionsPerCore(Environment environment) {
+        return Binder.get(environment).bind(CONNECTIONS_PER_CORE, Integer.class).orElse(2);
+    }
+
+    // A fixed-size pool (minimum-idle defaults to the maximum) of connectionsPerCore x cores + 1 connections.
+    // Hikari reports an unset maximum as -1 until it applies its own default of 10.
+    static void sizeIfUnset(HikariDataSource pool, int connectionsPerCore) {
+        if (pool.getMaximumPoolSize() < 1) {
+            pool.setMaximumPoolSize(Runtime.getRuntime().availableProcessors() * connectionsPerCore + 1);
+        }
+    }
+}
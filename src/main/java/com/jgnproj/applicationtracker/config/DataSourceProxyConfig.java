@@ -0,0 +1,40 @@
+package com.jgnproj.applicationtracker.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Wraps the pool in a datasource-proxy that times every statement for SlowQueryLogger. The pool is
+    // configured before wrapping, and the proxy unwraps to it, so Hikari settings and metrics are unaffected.
+    // Static and reading the Environment directly, as bean post-processors are created before other beans.
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(Environment environment) {
+        Binder binder = Binder.get(environment);
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(
+                binder.bind("app.sql.slow-query-threshold", Duration.class).orElse(Duration.ofMillis(500)),
+                binder.bind("app.sql.sample-rate", Double.class).orElse(0.0),
+                binder.bind("app.sql.log-parameters", Boolean.class).orElse(false));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(slowQueryLogger)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
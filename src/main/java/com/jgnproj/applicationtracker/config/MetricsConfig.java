@@ -0,0 +1,20 @@
+package com.jgnproj.applicationtracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Timer for controller handlers, tagged with class and method (one series per endpoint)
+    public static final String API_HANDLER_TIMER = "api.handler";
+
+    // Spring Boot only applies @Timed to a few built-in cases; this aspect handles it on our own beans,
+    // including @Timed on a class, which times every public method
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
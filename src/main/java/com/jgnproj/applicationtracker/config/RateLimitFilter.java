@@ -0,0 +1,57 @@
+package com.jgnproj.applicationtracker.config;
+
+import com.jgnproj.applicationtracker.service.AuthenticatedUser;
+import com.jgnproj.applicationtracker.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Answers 429 Too Many Requests with Retry-After once a client has used up its budget (see RateLimiter).
+// Runs after AccessTokenFilter so API requests are counted per user rather than per IP address.
+// Rejected requests never reach BCrypt or the connection pool. Async dispatches are not counted again.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        long waitNanos = 0;
+        if (path.startsWith("/api/auth/")) {
+            waitNanos = rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:" + request.getRemoteAddr());
+        } else if (path.startsWith("/api/applications")) {
+            waitNanos = rateLimiter.tryAcquire(RateLimiter.Group.API, clientKey(request));
+        }
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Unauthenticated requests are rejected later anyway, but still count against their IP address
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
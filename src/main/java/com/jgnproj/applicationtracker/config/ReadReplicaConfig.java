@@ -0,0 +1,90 @@
+package com.jgnproj.applicationtracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class ReadReplicaConfig {
+
+    static final String PREFIX = "app.datasource.replica";
+
+    // When app.datasource.replica.jdbc-url is set, puts the primary pool behind a ReplicaRoutingDataSource with
+    // a second Hikari pool configured from app.datasource.replica.* (any HikariConfig property) and sized like
+    // the primary when maximum-pool-size is not given (ConnectionPoolConfig). The replica pool starts on first
+    // use, so an unreachable replica doesn't stop the application from starting.
+    // Runs before the slow-query proxy (DataSourceProxyConfig), which then times statements on both pools.
+    // Static and reading the Environment directly, as bean post-processors are created before other beans.
+    @Bean
+    public static BeanPostProcessor readReplicaRouting(Environment environment) {
+        Binder binder = Binder.get(environment);
+        String replicaUrl = binder.bind(PREFIX + ".jdbc-url", String.class).orElse("");
+        return new RoutingPostProcessor(binder, ConnectionPoolConfig.connectionsPerCore(environment), replicaUrl.isBlank());
+    }
+
+    // Publishes the replica pool's hikaricp.connections.* metrics (tag pool=replica) next to the primary's, which
+    // Spring Boot binds on its own. Does nothing without a replica.
+    @Bean
+    public MeterBinder replicaPoolMetrics(DataSource dataSource) {
+        return registry -> {
+            if (replicaOf(dataSource) instanceof HikariDataSource replica) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        };
+    }
+
+    // The data source bean is the slow-query proxy, possibly around a ReplicaRoutingDataSource
+    private static DataSource replicaOf(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class).getReplica();
+            }
+            return null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Binder binder;
+        private final int connectionsPerCore;
+        private final boolean disabled;
+
+        private RoutingPostProcessor(Binder binder, int connectionsPerCore, boolean disabled) {
+            this.binder = binder;
+            this.connectionsPerCore = connectionsPerCore;
+            this.disabled = disabled;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (disabled || !(bean instanceof DataSource primary)
+                    || bean instanceof ReplicaRoutingDataSource || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            binder.bind(PREFIX, Bindable.ofInstance(replica));
+            ConnectionPoolConfig.sizeIfUnset(replica, connectionsPerCore);
+            return new ReplicaRoutingDataSource(primary, replica);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.jgnproj.applicationtracker.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+// Routes read-only transactions to the replica pool and everything else to the primary. The physical connection
+// is only fetched at the first statement, after the transaction manager has marked the connection read-only
+// for @Transactional(readOnly = true), so the pool can be picked then.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource replica;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        super(primary);
+        setReadOnlyDataSource(replica);
+        this.replica = replica;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    // Both pools belong to this data source, so they are closed with it on shutdown
+    @Override
+    public void close() throws IOException {
+        try {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (getTargetDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
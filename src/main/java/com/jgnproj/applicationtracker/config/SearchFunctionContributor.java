@@ -0,0 +1,20 @@
+package com.jgnproj.applicationtracker.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registers matches_search(id, query) for JPQL/Criteria. search_vector is a generated column that only exists
+// in PostgreSQL (V2__full_text_search.sql) and is deliberately not mapped on JobApplication, so the match is
+// expressed through the id. PostgreSQL plans it as a semi-join driven by the GIN index.
+// Loaded by Hibernate through META-INF/services.
+public class SearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "matches_search",
+                "(?1 in (select s.id from job_application s where s.search_vector @@ websearch_to_tsquery('english', ?2)))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -1,27 +1,53 @@
 package com.jgnproj.applicationtracker.config;
 
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import com.jgnproj.applicationtracker.service.RateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService,
+                                                   RateLimiter rateLimiter) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for stateless API
+                .cors(Customizer.withDefaults()) // Use the CORS mappings from the WebMvcConfigurer, so preflights skip auth
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/api/auth/**").permitAll() // Allow access to /api/auth/** endpoints (signup, signin)
-                        .requestMatchers("/api/applications/**").permitAll() // TEMPORARY: Allow access to /api/applications/** without authentication
+                        .requestMatchers("/api/applications/**").authenticated() // Requires a bearer token from /api/auth/signin
                         .anyRequest().permitAll() // Allow all other requests (e.g., static resources, homepage)
                 )
-                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)); // Use stateless sessions
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Use stateless sessions
+                // Security headers are otherwise written when the response commits, which for a streamed export happens
+                // on the async thread while the request thread is still leaving the filter chain; the response's
+                // header map isn't thread-safe, so write them up front on the request thread
+                .headers(headers -> headers.addObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                    @Override
+                    public <O extends HeaderWriterFilter> O postProcess(O filter) {
+                        filter.setShouldWriteHeadersEagerly(true);
+                        return filter;
+                    }
+                }))
+                // The token is verified locally (HMAC), so no user lookup happens per request
+                .addFilterBefore(new AccessTokenFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class)
+                // Throttle per user (or IP for signup/signin) before any controller, BCrypt or database work
+                .addFilterAfter(new RateLimitFilter(rateLimiter), AccessTokenFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))); // Plain 401, no login page
 
         return http.build();
     }
-}
\ No newline at end of file
+}
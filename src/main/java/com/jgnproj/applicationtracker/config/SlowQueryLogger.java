@@ -0,0 +1,73 @@
+package com.jgnproj.applicationtracker.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Called by datasource-proxy after every JDBC statement (see DataSourceProxyConfig). Statements at or over
+// the threshold are logged at WARN to "sql.slow"; a random sample of the others at DEBUG to "sql.sample".
+// Fast statements cost one comparison and, when sampling is on, one random number.
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("sql.slow");
+    private static final Logger sampleLog = LoggerFactory.getLogger("sql.sample");
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final boolean logParameters;
+
+    public SlowQueryLogger(Duration threshold, double sampleRate, boolean logParameters) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= thresholdMillis) {
+            if (slowLog.isWarnEnabled()) {
+                slowLog.warn("Slow query: {} ms{}{} {}", elapsed, batchSize(execInfo),
+                        execInfo.isSuccess() ? "" : " (failed)", describe(queryInfoList));
+            }
+        } else if (sampleRate > 0 && sampleLog.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            sampleLog.debug("Query: {} ms{} {}", elapsed, batchSize(execInfo), describe(queryInfoList));
+        }
+    }
+
+    private static String batchSize(ExecutionInfo execInfo) {
+        return execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "";
+    }
+
+    private String describe(List<QueryInfo> queryInfoList) {
+        StringBuilder description = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!description.isEmpty()) {
+                description.append("; ");
+            }
+            description.append(queryInfo.getQuery());
+            if (logParameters) {
+                for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                    description.append(" [");
+                    for (int i = 0; i < parameters.size(); i++) {
+                        Object[] args = parameters.get(i).getArgs();
+                        description.append(i == 0 ? "" : ", ").append(args.length > 1 ? args[1] : null);
+                    }
+                    description.append(']');
+                }
+            }
+        }
+        return description.toString();
+    }
+}
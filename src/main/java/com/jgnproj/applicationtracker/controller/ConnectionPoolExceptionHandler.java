@@ -0,0 +1,38 @@
+package com.jgnproj.applicationtracker.controller;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.sql.SQLTransientConnectionException;
+
+// Backpressure for every controller: when no pooled connection frees up within the pool's connection-timeout,
+// Hikari throws SQLTransientConnectionException, which reaches here wrapped by Spring (a failed transaction
+// begin or a translated data access error). The request is shed with 503 and Retry-After, like a busy password
+// hashing pool (UserController), instead of surfacing as a 500. Other database errors are rethrown unchanged.
+@RestControllerAdvice
+public class ConnectionPoolExceptionHandler {
+
+    @ExceptionHandler({TransactionException.class, DataAccessException.class})
+    public ResponseEntity<String> handleDatabaseError(RuntimeException e) {
+        if (!isPoolTimeout(e)) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Database is busy, please retry");
+    }
+
+    static boolean isPoolTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,59 +1,235 @@
 package com.jgnproj.applicationtracker.controller;
 
 
+import com.jgnproj.applicationtracker.config.MetricsConfig;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationQuery;
+import com.jgnproj.applicationtracker.dto.ApplicationSort;
+import com.jgnproj.applicationtracker.dto.BatchRequest;
+import com.jgnproj.applicationtracker.dto.BatchResult;
+import com.jgnproj.applicationtracker.dto.ChangeSet;
+import com.jgnproj.applicationtracker.dto.DashboardSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
 import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.service.ApplicationEventBus;
+import com.jgnproj.applicationtracker.service.ApplicationExportService;
+import com.jgnproj.applicationtracker.service.ApplicationStatsService;
+import com.jgnproj.applicationtracker.service.AuthenticatedUser;
+import com.jgnproj.applicationtracker.service.InvalidStatusTransitionException;
 import com.jgnproj.applicationtracker.service.JobApplicationService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
+// Every endpoint acts on the signed-in user's applications only (see SecurityConfig / AccessTokenFilter)
+// Every handler is timed as api.handler{class,method} (see MetricsConfig). For /events and /export this covers
+// opening the stream, not streaming it; http.server.requests has the full request time per URI and status.
 @RestController
 @RequestMapping("/api/applications")
+@Timed(value = MetricsConfig.API_HANDLER_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class JobApplicationController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     @Autowired
     private JobApplicationService jobApplicationService;
 
+    @Autowired
+    private ApplicationExportService applicationExportService;
+
+    @Autowired
+    private ApplicationEventBus applicationEventBus;
+
+    @Autowired
+    private ApplicationStatsService applicationStatsService;
+
+    // Lists one page of the user's applications, newest first by default.
+    // Optional filters: status, company (substring), appliedFrom/appliedTo (ISO dates, inclusive) and q (full-text
+    // search over company, position and notes); sort=lastUpdated|dateApplied|company with direction=asc|desc.
+    // Follow nextCursor from the response to fetch the next page with the same parameters.
+    // Items are summaries without notes; GET /{id} returns the full application.
     @GetMapping
-    public List<JobApplication> getAllApplications() {
-        return jobApplicationService.getAllApplications();
+    public ResponseEntity<ApplicationPage> getApplications(@AuthenticationPrincipal AuthenticatedUser user,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "" + JobApplicationService.DEFAULT_PAGE_SIZE) int limit,
+                                                           @RequestParam(required = false) String status,
+                                                           @RequestParam(required = false) String company,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate appliedFrom,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate appliedTo,
+                                                           @RequestParam(required = false) String q,
+                                                           @RequestParam(defaultValue = "lastUpdated") String sort,
+                                                           @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            ApplicationQuery query = new ApplicationQuery(ApplicationStatus.fromLabel(status), company, appliedFrom, appliedTo, q,
+                    ApplicationSort.fromProperty(sort), Sort.Direction.fromString(direction));
+            if (query.isDefault()) {
+                return ResponseEntity.ok(jobApplicationService.listApplications(user.id(), cursor, limit));
+            }
+            return ResponseEntity.ok(jobApplicationService.searchApplications(user.id(), query, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Delta sync: returns only applications changed or deleted since the token from the previous call.
+    // Call without ?since= (or whenever resyncRequired is true) to get a starting token, then reload the list.
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeSet> getChanges(@AuthenticationPrincipal AuthenticatedUser user, @RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(jobApplicationService.getChangesSince(user.id(), since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Dashboard totals: counts per status, applications per week for the last `weeks` weeks (1-104),
+    // the Applied -> Interviewing -> Offer funnel, status transitions and the response rate.
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary(@AuthenticationPrincipal AuthenticatedUser user,
+                                                       @RequestParam(defaultValue = "" + ApplicationStatsService.DEFAULT_WEEKS) int weeks) {
+        try {
+            return ResponseEntity.ok(applicationStatsService.getSummary(user.id(), weeks));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Server-Sent Events stream of the user's created/updated/deleted applications, instead of polling.
+    // If the stream drops (including when the client falls too far behind), reconnect and catch up via /changes.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal AuthenticatedUser user) {
+        return applicationEventBus.subscribe(user.id());
     }
 
+    // Streams the user's whole history as newline-delimited JSON (default) or CSV.
+    // Rows are written as they are read from the database, so the export is never held in memory.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportApplications(@AuthenticationPrincipal AuthenticatedUser user,
+                                                                    @RequestParam(defaultValue = "ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> applicationExportService.exportCsv(user.id(), out);
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"applications.csv\"")
+                    .body(body);
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> applicationExportService.exportNdjson(user.id(), out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"applications.ndjson\"")
+                    .body(body);
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    // Returns the application with its version as a strong ETag. Spring answers a matching
+    // If-None-Match with 304 Not Modified and skips writing the body.
     @GetMapping("/{id}")
-    public ResponseEntity<JobApplication> getApplicationById(@PathVariable Long id) {
-        return jobApplicationService.getApplicationById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<JobApplication> getApplicationById(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable Long id) {
+        return jobApplicationService.getApplicationById(id, user.id())
+                .map(application -> ResponseEntity.ok().eTag(eTagFor(application)).body(application))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<JobApplication> createApplication(@RequestBody JobApplication application) {
-        // In a real application, you would get the userId from the authenticated principal
-        // For now, it's expected to be passed in the request body from the frontend for demonstration
+    public ResponseEntity<JobApplication> createApplication(@AuthenticationPrincipal AuthenticatedUser user,
+                                                            @RequestBody JobApplication application) {
+        application.setUserId(user.id()); // Owner comes from the token, never from the request body (id and version are ignored too)
         JobApplication createdApplication = jobApplicationService.createApplication(application);
         return new ResponseEntity<>(createdApplication, HttpStatus.CREATED);
     }
 
+    // Applies up to JobApplicationService.MAX_BATCH_SIZE creates/updates/deletes in one transaction,
+    // so bulk imports cost one request and a handful of JDBC batches instead of one round trip per row.
+    // 409 Conflict (and nothing applied) when an update asks for a status transition that isn't allowed.
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> applyBatch(@AuthenticationPrincipal AuthenticatedUser user, @RequestBody BatchRequest request) {
+        if (request.operations() == null || request.operations().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(jobApplicationService.applyBatch(user.id(), request.operations()));
+        } catch (InvalidStatusTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Send If-Match with the ETag from a previous read to make the update conditional:
+    // 412 Precondition Failed means someone else changed the application in the meantime.
+    // The status is required; 409 Conflict means the application can't move to it (see ApplicationStatus).
     @PutMapping("/{id}")
-    public ResponseEntity<JobApplication> updateApplication(@PathVariable Long id, @RequestBody JobApplication applicationDetails) {
+    public ResponseEntity<JobApplication> updateApplication(@PathVariable Long id,
+                                                            @AuthenticationPrincipal AuthenticatedUser user,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @RequestBody JobApplication applicationDetails) {
+        if (applicationDetails.getStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            JobApplication updatedApplication = jobApplicationService.updateApplication(id, applicationDetails);
-            return ResponseEntity.ok(updatedApplication);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+            return jobApplicationService.updateApplication(id, user.id(), parseIfMatch(ifMatch), applicationDetails)
+                    .map(application -> {
+                        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                        if (application.getVersion() != null) {
+                            response.eTag(eTagFor(application));
+                        }
+                        return response.body(application);
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (InvalidStatusTransitionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteApplication(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteApplication(@PathVariable Long id,
+                                                  @AuthenticationPrincipal AuthenticatedUser user,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            jobApplicationService.deleteApplication(id);
+            if (!jobApplicationService.deleteApplication(id, user.id(), parseIfMatch(ifMatch))) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+    }
+
+    private static String eTagFor(JobApplication application) {
+        return "\"" + application.getVersion() + "\"";
+    }
+
+    // Returns the version named by an If-Match header, or null when the request is unconditional (absent or "*").
+    // Weak or malformed tags can never match a strong ETag, so they are rejected.
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Unsupported If-Match value: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported If-Match value: " + ifMatch);
         }
     }
 }
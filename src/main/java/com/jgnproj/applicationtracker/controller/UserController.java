@@ -1,8 +1,14 @@
 package com.jgnproj.applicationtracker.controller;
 
+import com.jgnproj.applicationtracker.config.MetricsConfig;
 import com.jgnproj.applicationtracker.model.User;
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import com.jgnproj.applicationtracker.service.EmailAlreadyRegisteredException;
+import com.jgnproj.applicationtracker.service.PasswordHashingUnavailableException;
 import com.jgnproj.applicationtracker.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,11 +20,15 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
+@Timed(value = MetricsConfig.API_HANDLER_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99}) // See MetricsConfig
 public class UserController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody Map<String, String> payload) {
         String email = payload.get("email");
@@ -36,7 +46,10 @@ public class UserController {
             response.put("userId", newUser.getId());
             response.put("email", newUser.getEmail());
             return new ResponseEntity<>(response, HttpStatus.CREATED);
-        } catch (RuntimeException e) {
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
+        } catch (EmailAlreadyRegisteredException e) {
+            // Anything else, such as a connection pool timeout, goes to the exception handlers
             return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         }
     }
@@ -50,17 +63,36 @@ public class UserController {
             return new ResponseEntity<>("Email and password are required", HttpStatus.BAD_REQUEST);
         }
 
+        try {
+            return signIn(email, password);
+        } catch (PasswordHashingUnavailableException e) {
+            return hashingUnavailable(e);
+        }
+    }
+
+    private ResponseEntity<?> signIn(String email, String password) {
         return userService.findByEmail(email).map(user -> {
             if (userService.checkPassword(password, user.getPasswordHash())) {
-                // Return user ID upon successful sign-in for frontend to store
+                userService.upgradePasswordIfNeeded(user, password);
+                // Return a signed access token; send it as "Authorization: Bearer <token>" on /api/applications
                 Map<String, Object> response = new java.util.HashMap<>();
                 response.put("message", "User signed in successfully");
                 response.put("userId", user.getId());
                 response.put("email", user.getEmail());
+                response.put("accessToken", accessTokenService.issue(user.getId(), user.getEmail()));
+                response.put("tokenType", "Bearer");
+                response.put("expiresIn", accessTokenService.getTtl().toSeconds());
                 return new ResponseEntity<>(response, HttpStatus.OK);
             } else {
                 return new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED);
             }
         }).orElse(new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED));
     }
-}
\ No newline at end of file
+
+    // The hashing pool is saturated: shed load quickly instead of queueing the request
+    private static ResponseEntity<?> hashingUnavailable(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,8 @@
+package com.jgnproj.applicationtracker.dto;
+
+import java.util.List;
+
+// One page of a user's applications, newest first, as summaries (no notes; see ApplicationSummary).
+// nextCursor is an opaque token to pass back as ?cursor=... for the following page; null when there are no more rows.
+public record ApplicationPage(List<ApplicationSummary> items, String nextCursor) {
+}
@@ -0,0 +1,28 @@
+package com.jgnproj.applicationtracker.dto;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+// Filters and ordering for the application list. Null filters are ignored.
+// company matches case-insensitively anywhere in the name; search is a full-text query over
+// company, position and notes (web-search syntax: quoted phrases, "or", -excluded).
+public record ApplicationQuery(ApplicationStatus status,
+                               String company,
+                               LocalDate appliedFrom,
+                               LocalDate appliedTo,
+                               String search,
+                               ApplicationSort sort,
+                               Sort.Direction direction) {
+
+    // The plain newest-first listing, which has its own index-backed query
+    public boolean isDefault() {
+        return status == null && isBlank(company) && appliedFrom == null && appliedTo == null && isBlank(search)
+                && sort == ApplicationSort.LAST_UPDATED && direction == Sort.Direction.DESC;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
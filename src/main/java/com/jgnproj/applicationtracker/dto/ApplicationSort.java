@@ -0,0 +1,39 @@
+package com.jgnproj.applicationtracker.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+// Sort keys accepted by GET /api/applications?sort=...; the id is always the tie-breaker.
+public enum ApplicationSort {
+    LAST_UPDATED("lastUpdated", LocalDateTime::parse),
+    DATE_APPLIED("dateApplied", LocalDate::parse),
+    COMPANY("company", Function.identity());
+
+    private final String property;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    ApplicationSort(String property, Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    // JobApplication attribute name, also used as the request parameter value
+    public String getProperty() {
+        return property;
+    }
+
+    // Turns a value written into a cursor back into the attribute's type
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static ApplicationSort fromProperty(String property) {
+        for (ApplicationSort sort : values()) {
+            if (sort.property.equals(property)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + property);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jgnproj.applicationtracker.dto;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A row of the application list: everything but the notes, which can be long and are only shown on the
+// detail view (GET /api/applications/{id}). Selected column by column (see JobApplicationRepository), so
+// listing neither loads nor tracks entities. version is the one to send as If-Match.
+public record ApplicationSummary(Long id, String company, String position, ApplicationStatus status,
+                                 LocalDate dateApplied, LocalDateTime lastUpdated, Long version) {
+}
@@ -0,0 +1,14 @@
+package com.jgnproj.applicationtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jgnproj.applicationtracker.model.JobApplication;
+
+// A single entry of a bulk request. CREATE needs application, UPDATE needs id and application, DELETE needs id.
+public record BatchOperation(Type op, Long id, JobApplication application) {
+
+    public enum Type {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+}
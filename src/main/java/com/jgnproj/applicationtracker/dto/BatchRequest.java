@@ -0,0 +1,6 @@
+package com.jgnproj.applicationtracker.dto;
+
+import java.util.List;
+
+public record BatchRequest(List<BatchOperation> operations) {
+}
@@ -0,0 +1,19 @@
+package com.jgnproj.applicationtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+// Outcome of a bulk request, one entry per operation in request order
+public record BatchResult(List<Item> results) {
+
+    public enum Status {
+        @JsonProperty("created") CREATED,
+        @JsonProperty("updated") UPDATED,
+        @JsonProperty("deleted") DELETED,
+        @JsonProperty("not_found") NOT_FOUND
+    }
+
+    public record Item(int index, Long id, Status status) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.jgnproj.applicationtracker.dto;
+
+import com.jgnproj.applicationtracker.model.JobApplication;
+
+import java.util.List;
+
+// Applications changed and deleted since the client's last sync token.
+// Pass nextToken back as ?since=... on the next poll. When resyncRequired is true the changes are
+// incomplete (no token, token too old, or too many changes): reload the full list, then poll with nextToken.
+// A row can show up in more than one change set, so clients should apply changes as upserts.
+public record ChangeSet(List<JobApplication> changed, List<Long> deleted, String nextToken, boolean resyncRequired) {
+}
@@ -0,0 +1,25 @@
+package com.jgnproj.applicationtracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard aggregates for one user, read from precomputed counters (see ApplicationStat).
+// funnel counts how many times applications reached each stage; responseRate is the share of applications
+// that entered "Applied" and later moved on to any other status (null until something was applied for).
+public record DashboardSummary(long total,
+                               Map<String, Long> byStatus,
+                               List<WeekCount> perWeek,
+                               List<FunnelStage> funnel,
+                               List<Transition> transitions,
+                               Double responseRate) {
+
+    public record WeekCount(LocalDate weekStart, long count) {
+    }
+
+    public record FunnelStage(String status, long reached) {
+    }
+
+    public record Transition(String from, String to, long count) {
+    }
+}
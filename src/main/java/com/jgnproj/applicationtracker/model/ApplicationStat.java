@@ -0,0 +1,49 @@
+package com.jgnproj.applicationtracker.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// One counter of a user's dashboard summary, e.g. (user 7, "status", "3") = 4 Interviewing applications.
+// Maintained by the job_application_stats trigger (V3__dashboard_stats.sql) in the same transaction as every
+// insert, update and delete of job_application; rebuilt from scratch by ApplicationStatsService.rebuild.
+@Entity
+@Table(name = "application_stat")
+@IdClass(ApplicationStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStat {
+
+    // Applications currently in a status; bucket = ApplicationStatus code, "" for none
+    public static final String STATUS = "status";
+    // Times applications entered a status (on create or status change); bucket = ApplicationStatus code
+    public static final String ENTERED = "entered";
+    // Status changes; bucket = "<from code>-><to code>"
+    public static final String TRANSITION = "transition";
+    // Applications by week applied; bucket = ISO date of the Monday starting the week
+    public static final String WEEK = "week";
+
+    @Id
+    private Long userId;
+    @Id
+    private String kind;
+    @Id
+    private String bucket;
+    private long total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private String kind;
+        private String bucket;
+    }
+}
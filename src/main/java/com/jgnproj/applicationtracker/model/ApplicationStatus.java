@@ -0,0 +1,85 @@
+package com.jgnproj.applicationtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Where an application stands. Stored as a SMALLINT code (ApplicationStatusConverter) and exchanged with
+// clients as its label, e.g. "Interviewing". Codes are persisted: never renumber or reuse one.
+public enum ApplicationStatus {
+    WISHLIST(1, "Wishlist"),
+    APPLIED(2, "Applied"),
+    INTERVIEWING(3, "Interviewing"),
+    OFFER(4, "Offer"),
+    REJECTED(5, "Rejected");
+
+    // Allowed moves; keeping the current status is always allowed. Rejected is final.
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> NEXT = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        NEXT.put(WISHLIST, EnumSet.of(APPLIED, REJECTED));
+        NEXT.put(APPLIED, EnumSet.of(INTERVIEWING, OFFER, REJECTED));
+        NEXT.put(INTERVIEWING, EnumSet.of(OFFER, REJECTED));
+        NEXT.put(OFFER, EnumSet.of(REJECTED));
+        NEXT.put(REJECTED, EnumSet.noneOf(ApplicationStatus.class));
+    }
+
+    private final short code;
+    private final String label;
+
+    ApplicationStatus(int code, String label) {
+        this.code = (short) code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean canMoveTo(ApplicationStatus next) {
+        return next == this || NEXT.get(this).contains(next);
+    }
+
+    // The statuses this one may be reached from, itself included
+    public Set<ApplicationStatus> allowedPredecessors() {
+        Set<ApplicationStatus> predecessors = EnumSet.of(this);
+        for (ApplicationStatus status : values()) {
+            if (NEXT.get(status).contains(this)) {
+                predecessors.add(status);
+            }
+        }
+        return predecessors;
+    }
+
+    public static ApplicationStatus fromCode(short code) {
+        for (ApplicationStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status code: " + code);
+    }
+
+    // Case-insensitive, so "interviewing" and "Interviewing" are the same status; null when blank
+    @JsonCreator
+    public static ApplicationStatus fromLabel(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        for (ApplicationStatus status : values()) {
+            if (status.label.equalsIgnoreCase(label.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + label);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jgnproj.applicationtracker.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Persists ApplicationStatus by its stable code rather than its ordinal or name (2 bytes per row)
+@Converter(autoApply = true)
+public class ApplicationStatusConverter implements AttributeConverter<ApplicationStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(ApplicationStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public ApplicationStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : ApplicationStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,39 @@
+package com.jgnproj.applicationtracker.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Records that an application was deleted, so delta-sync clients can drop it locally.
+// Kept for a limited retention window (see JobApplicationService.purgeExpiredTombstones).
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_application_tombstone_user_deleted_at", columnList = "user_id, deleted_at"),
+        @Index(name = "idx_application_tombstone_deleted_at", columnList = "deleted_at") // Purge by age
+})
+@Data
+@NoArgsConstructor
+public class ApplicationTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_tombstone_seq")
+    @SequenceGenerator(name = "application_tombstone_seq", sequenceName = "application_tombstone_seq", allocationSize = 50)
+    private Long id;
+    private Long applicationId;
+    private Long userId;
+    private LocalDateTime deletedAt;
+
+    public ApplicationTombstone(Long applicationId, Long userId, LocalDateTime deletedAt) {
+        this.applicationId = applicationId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+}
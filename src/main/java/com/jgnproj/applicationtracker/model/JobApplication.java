@@ -1,35 +1,68 @@
 package com.jgnproj.applicationtracker.model;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 //import lombok.AllArgsConstructor;
 
+// Indexes are created by the Flyway migrations (db/migration); they are repeated here so that schemas generated
+// for tests match.
 @Entity
+@Table(indexes = {
+        // Backs the keyset-paginated listing: WHERE user_id = ? ORDER BY last_updated DESC, id DESC
+        @Index(name = "idx_job_application_user_last_updated", columnList = "user_id, last_updated DESC, id DESC"),
+        // Per-status filters and counts for one user: WHERE user_id = ? AND status = ?
+        @Index(name = "idx_job_application_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_job_application_user_date_applied", columnList = "user_id, date_applied, id")
+})
+// Second-level cache region "job_application" (sized in application.conf). Read-write keeps readers from
+// seeing a row another transaction is still changing. The bulk UPDATE/DELETE statements in
+// JobApplicationRepository bypass the cache, so Hibernate clears this region whenever one of them runs.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "job_application")
 @Data
 @NoArgsConstructor
 //@AllArgsConstructor
 public class JobApplication {
 
+    // Sequence ids let Hibernate batch inserts (IDENTITY forces one INSERT round trip per row);
+    // allocationSize hands out 50 ids per sequence call
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_application_seq")
+    @SequenceGenerator(name = "job_application_seq", sequenceName = "job_application_seq", allocationSize = 50)
     private Long id;
     private Long userId; // New field to link to a user
     private String company;
     private String position;
-    private String status;
+    private ApplicationStatus status; // SMALLINT, see ApplicationStatusConverter
     private LocalDate dateApplied;
     private String notes;
     private LocalDateTime lastUpdated;
 
+    // Optimistic-lock version, bumped on every write and exposed to clients as the ETag.
+    // The column default lets existing rows take the column (V1__create_tables.sql).
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Custom constructor for easier creation without ID (for new applications)
-    public JobApplication(Long userId, String company, String position, String status, LocalDate dateApplied, String notes) {
+    public JobApplication(Long userId, String company, String position, ApplicationStatus status, LocalDate dateApplied, String notes) {
         this.userId = userId;
         this.company = company;
         this.position = position;
@@ -40,7 +73,7 @@ public class JobApplication {
     }
 
     // Constructor including ID and lastUpdated for full object creation
-    public JobApplication(Long id, Long userId, String company, String position, String status, LocalDate dateApplied, String notes, LocalDateTime lastUpdated) {
+    public JobApplication(Long id, Long userId, String company, String position, ApplicationStatus status, LocalDate dateApplied, String notes, LocalDateTime lastUpdated) {
         this.id = id;
         this.userId = userId;
         this.company = company;
@@ -1,5 +1,6 @@
 package com.jgnproj.applicationtracker.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,11 +8,17 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
 @Table(name = "users")
+// Second-level cache region "users". Users are almost never updated (only a password-hash upgrade),
+// so nonstrict read-write skips the soft locks at the cost of a tiny window of staleness after a change.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "users")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
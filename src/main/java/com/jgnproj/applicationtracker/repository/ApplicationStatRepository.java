@@ -0,0 +1,52 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.model.ApplicationStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ApplicationStatRepository extends JpaRepository<ApplicationStat, ApplicationStat.Key> {
+
+    // A handful of rows per user (one per status and transition seen), however long the history
+    List<ApplicationStat> findByUserIdAndKindIn(Long userId, Collection<String> kinds);
+
+    // Week buckets are ISO dates, so string order is date order
+    List<ApplicationStat> findByUserIdAndKindAndBucketGreaterThanEqualOrderByBucket(Long userId, String kind, String fromBucket);
+
+    // Rebuild (see ApplicationStatsService.rebuild). Blocks writers, not readers, until the transaction ends,
+    // so the trigger can't change counters between the delete and the re-insert.
+    @Modifying
+    @Query(value = "LOCK TABLE job_application IN SHARE MODE", nativeQuery = true)
+    void lockApplicationsForRebuild();
+
+    // Status and week counters can be recomputed from the rows; transitions and "entered" are history and are kept
+    @Modifying
+    @Query(value = "DELETE FROM application_stat WHERE kind IN ('status', 'week')", nativeQuery = true)
+    int deleteRecomputableStats();
+
+    @Modifying
+    @Query(value = "INSERT INTO application_stat (user_id, kind, bucket, total) "
+            + "SELECT user_id, 'status', coalesce(status::text, ''), count(*) FROM job_application "
+            + "WHERE user_id IS NOT NULL GROUP BY user_id, coalesce(status::text, '')", nativeQuery = true)
+    int insertStatusStats();
+
+    @Modifying
+    @Query(value = "INSERT INTO application_stat (user_id, kind, bucket, total) "
+            + "SELECT user_id, 'week', to_char(date_trunc('week', date_applied), 'YYYY-MM-DD'), count(*) FROM job_application "
+            + "WHERE user_id IS NOT NULL AND date_applied IS NOT NULL "
+            + "GROUP BY user_id, to_char(date_trunc('week', date_applied), 'YYYY-MM-DD')", nativeQuery = true)
+    int insertWeekStats();
+
+    // Backfill: every current application entered its current status at least once
+    @Modifying
+    @Query(value = "INSERT INTO application_stat (user_id, kind, bucket, total) "
+            + "SELECT user_id, 'entered', bucket, total FROM application_stat WHERE kind = 'status' "
+            + "ON CONFLICT (user_id, kind, bucket) DO UPDATE SET total = GREATEST(application_stat.total, EXCLUDED.total)",
+            nativeQuery = true)
+    int backfillEnteredStats();
+}
@@ -0,0 +1,21 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.model.ApplicationTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ApplicationTombstoneRepository extends JpaRepository<ApplicationTombstone, Long> {
+
+    List<ApplicationTombstone> findByUserIdAndDeletedAtAfter(Long userId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM ApplicationTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,12 +1,102 @@
 package com.jgnproj.applicationtracker.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
 import com.jgnproj.applicationtracker.model.JobApplication;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+public interface JobApplicationRepository extends JpaRepository<JobApplication, Long>, JpaSpecificationExecutor<JobApplication>,
+        JobApplicationRepositoryCustom {
     // JpaRepository provides standard CRUD operations (save, findById, findAll, deleteById)
     // You can add custom query methods here if needed, e.g., findByCompany(String company)
+    // Filtered and re-sorted listings are composed from JobApplicationSpecifications (see findSummaries)
+
+    // JPQL select list for ApplicationSummary, shared by the list queries below
+    String SUMMARY = "new com.jgnproj.applicationtracker.dto.ApplicationSummary("
+            + "a.id, a.company, a.position, a.status, a.dateApplied, a.lastUpdated, a.version)";
+
+    // First page of a user's applications, newest first. Pass PageRequest.of(0, size) to bound the result;
+    // returning a List (not a Page) avoids the extra count(*) query. The list pages select the summary columns
+    // into ApplicationSummary records: no notes, and nothing for the persistence context to manage.
+    @Query("SELECT " + SUMMARY + " FROM JobApplication a WHERE a.userId = :userId ORDER BY a.lastUpdated DESC, a.id DESC")
+    List<ApplicationSummary> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Subsequent pages: seek past the last (lastUpdated, id) seen instead of using OFFSET,
+    // so every page is a range scan on idx_job_application_user_last_updated regardless of depth
+    @Query("SELECT " + SUMMARY + " FROM JobApplication a WHERE a.userId = :userId "
+            + "AND (a.lastUpdated < :lastUpdated OR (a.lastUpdated = :lastUpdated AND a.id < :id)) "
+            + "ORDER BY a.lastUpdated DESC, a.id DESC")
+    List<ApplicationSummary> findPageByUserIdAfter(@Param("userId") Long userId,
+                                                   @Param("lastUpdated") LocalDateTime lastUpdated,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    // Delta sync: the user's applications modified after the watermark, oldest first
+    @Query("SELECT a FROM JobApplication a WHERE a.userId = :userId AND a.lastUpdated > :since ORDER BY a.lastUpdated, a.id")
+    List<JobApplication> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    // Single-statement update scoped to the owner. Bumps the version explicitly because bulk JPQL bypasses @Version.
+    // When version is non-null the row only matches at that version (If-Match), and it only matches while its
+    // current status is one of allowedFrom (or unset), so the status transition is checked by the same statement.
+    // Returns the number of rows changed.
+    @Modifying
+    @Query("UPDATE JobApplication a SET a.company = :company, a.position = :position, a.status = :status, "
+            + "a.dateApplied = :dateApplied, a.notes = :notes, a.lastUpdated = :lastUpdated, a.version = a.version + 1 "
+            + "WHERE a.id = :id AND a.userId = :userId AND (:version IS NULL OR a.version = :version) "
+            + "AND (a.status IS NULL OR a.status IN :allowedFrom)")
+    int updateByIdAndUserId(@Param("id") Long id,
+                            @Param("userId") Long userId,
+                            @Param("version") Long version,
+                            @Param("allowedFrom") Collection<ApplicationStatus> allowedFrom,
+                            @Param("company") String company,
+                            @Param("position") String position,
+                            @Param("status") ApplicationStatus status,
+                            @Param("dateApplied") LocalDate dateApplied,
+                            @Param("notes") String notes,
+                            @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    // Single-statement delete scoped to the owner (deleteById would SELECT the entity first), optionally
+    // conditional on the version. Returns the number of rows removed.
+    @Modifying
+    @Query("DELETE FROM JobApplication a WHERE a.id = :id AND a.userId = :userId AND (:version IS NULL OR a.version = :version)")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version);
+
+    // Single-row read scoped to the owner, so one user can't fetch another user's application by id
+    Optional<JobApplication> findByIdAndUserId(Long id, Long userId);
+
+    // Only used to tell "not found" from "version mismatch" after a conditional write matched no rows
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Loads the given applications in one query, silently skipping ids that don't exist or belong to another user
+    List<JobApplication> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    // Streams every application of a user for export. Must be consumed inside a transaction and closed by the caller.
+    // The fetch size makes the PostgreSQL driver use a server-side cursor instead of buffering the whole result set,
+    // and read-only entities skip the dirty-checking snapshot. Callers that must keep the rows out of the
+    // second-level cache set the session cache mode themselves; Hibernate ignores the cache-mode hint on streams.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM JobApplication a WHERE a.userId = :userId ORDER BY a.id")
+    Stream<JobApplication> streamByUserId(@Param("userId") Long userId);
 }
 
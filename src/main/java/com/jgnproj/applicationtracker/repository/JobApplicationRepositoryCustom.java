@@ -0,0 +1,14 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Queries Spring Data can't derive, implemented in JobApplicationRepositoryImpl
+public interface JobApplicationRepositoryCustom {
+
+    // Like findBy(spec, q -> q.limit(limit).all()), but selects only the summary columns
+    List<ApplicationSummary> findSummaries(Specification<JobApplication> spec, int limit);
+}
@@ -0,0 +1,34 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Picked up by Spring Data as the implementation of JobApplicationRepositoryCustom
+class JobApplicationRepositoryImpl implements JobApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ApplicationSummary> findSummaries(Specification<JobApplication> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationSummary> query = cb.createQuery(ApplicationSummary.class);
+        Root<JobApplication> root = query.from(JobApplication.class);
+        Predicate predicate = spec.toPredicate(root, query, cb); // Also applies the ordering, see orderedBy
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(ApplicationSummary.class, root.get("id"), root.get("company"), root.get("position"),
+                root.get("status"), root.get("dateApplied"), root.get("lastUpdated"), root.get("version")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Building blocks for JobApplicationRepository.findSummaries(Specification, ...). Every query starts from ownedBy,
+// so it stays a range scan on the user's rows no matter which filters are added.
+public final class JobApplicationSpecifications {
+
+    private JobApplicationSpecifications() {
+    }
+
+    public static Specification<JobApplication> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<JobApplication> hasStatus(ApplicationStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<JobApplication> companyContains(String company) {
+        String pattern = "%" + escapeLike(company.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("company")), pattern, '\\');
+    }
+
+    public static Specification<JobApplication> appliedOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateApplied"), from);
+    }
+
+    public static Specification<JobApplication> appliedOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateApplied"), to);
+    }
+
+    // Full-text match against the generated search_vector column (GIN-indexed, see V2__full_text_search.sql).
+    // PostgreSQL only: matches_search is registered by SearchFunctionContributor.
+    public static Specification<JobApplication> matchesSearch(String search) {
+        return (root, query, cb) -> cb.isTrue(cb.function("matches_search", Boolean.class, root.get("id"), cb.literal(search)));
+    }
+
+    // ORDER BY property <direction> NULLS LAST, id <direction>. Set here rather than through Sort because Spring
+    // Data's Sort.Order.nullsLast() is not applied to Criteria queries. Adds no restriction.
+    public static Specification<JobApplication> orderedBy(String property, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            if (direction.isAscending()) {
+                query.orderBy(hcb.asc(root.get(property), false), hcb.asc(root.get("id")));
+            } else {
+                query.orderBy(hcb.desc(root.get(property), false), hcb.desc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    // Keyset condition for "rows after (value, id)" in ORDER BY property <direction> NULLS LAST, id <direction>.
+    // A null value means the previous page ended among the rows without a value.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<JobApplication> after(String property, Sort.Direction direction, Comparable value, Long id) {
+        return (root, query, cb) -> {
+            Expression<Comparable> field = root.get(property);
+            Expression<Long> rowId = root.get("id");
+            boolean ascending = direction.isAscending();
+            Predicate idAfter = ascending ? cb.greaterThan(rowId, id) : cb.lessThan(rowId, id);
+            if (value == null) {
+                return cb.and(cb.isNull(field), idAfter);
+            }
+            Predicate valueAfter = ascending ? cb.greaterThan(field, value) : cb.lessThan(field, value);
+            return cb.or(valueAfter, cb.and(cb.equal(field, value), idAfter), cb.isNull(field));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,12 +1,17 @@
 package com.jgnproj.applicationtracker.repository;
 
 import com.jgnproj.applicationtracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    // Custom query method to find a user by email
+    // Custom query method to find a user by email.
+    // Query cache: a repeat lookup resolves the id from the cache and the row from the "users" region.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 }
\ No newline at end of file
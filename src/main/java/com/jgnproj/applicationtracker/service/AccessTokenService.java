@@ -0,0 +1,110 @@
+package com.jgnproj.applicationtracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+// Issues and verifies short-lived access tokens of the form base64url(userId:expiresAt:email).base64url(HMAC-SHA256).
+// Verification is one HMAC over a few dozen bytes, so authenticating a request needs no database round trip.
+// Tokens cannot be revoked before they expire; keep app.security.token.ttl short.
+@Component
+public class AccessTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Mac is not thread-safe; each call clones this initialised prototype instead of re-running key setup
+    private final Mac prototype;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public AccessTokenService(@Value("${app.security.token.secret:}") String secret,
+                              @Value("${app.security.token.ttl:PT15M}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    AccessTokenService(String secret, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            // Fine for development, but every restart (and every instance) then signs with a different key
+            log.warn("app.security.token.secret is not set; using a random key, issued tokens will not survive a restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+            if (key.length < 32) {
+                throw new IllegalStateException("app.security.token.secret must be at least 256 bits (base64-encoded)");
+            }
+        }
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    public String issue(Long userId, String email) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = ENCODER.encodeToString((userId + ":" + expiresAt.getEpochSecond() + ":" + email)
+                .getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    // Returns the token's user when the signature is valid and the token has not expired, otherwise empty
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            // Constant-time comparison so the signature can't be guessed byte by byte from response timings
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":", 3);
+            if (claims.length != 3 || clock.instant().getEpochSecond() >= Long.parseLong(claims[1])) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(Long.valueOf(claims[0]), claims[2]));
+        } catch (IllegalArgumentException e) { // Bad base64 or number
+            return Optional.empty();
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " provider does not support cloning", e);
+        }
+    }
+}
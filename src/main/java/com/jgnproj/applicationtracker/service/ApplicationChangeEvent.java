@@ -0,0 +1,12 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.model.JobApplication;
+
+// Published by JobApplicationService after every write and pushed to the owner's SSE subscribers.
+// application is null for deletions.
+public record ApplicationChangeEvent(Type type, Long userId, Long applicationId, JobApplication application) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,25 @@
+package com.jgnproj.applicationtracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Keyset position for paging through applications ordered by (lastUpdated DESC, id DESC).
+// Serialized as an opaque base64url token so clients don't depend on its layout.
+public record ApplicationCursor(LocalDateTime lastUpdated, Long id) {
+
+    public String encode() {
+        String raw = lastUpdated + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApplicationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            return new ApplicationCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.jgnproj.applicationtracker.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process, per-user fan-out of application changes to Server-Sent Events subscribers.
+//
+// An idle subscriber is just an SseEmitter on an async servlet request plus a few small objects:
+// no thread is parked per connection. Each subscriber has a bounded outbound queue drained on a
+// virtual thread only while it has events; a subscriber whose queue overflows (a slow or stalled
+// client) is disconnected and expected to reconnect and resync via /api/applications/changes.
+// Events are delivered after the surrounding transaction commits.
+@Component
+public class ApplicationEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationEventBus.class);
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong subscriberSequence = new AtomicLong();
+
+    // Sends block on the socket, so they run on cheap virtual threads, only while a subscriber has work
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-send-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon(true).factory());
+
+    private final int bufferSize;
+    private final int maxSubscribersPerUser;
+    private final long emitterTimeoutMillis;
+
+    public ApplicationEventBus(@Value("${app.sse.buffer-size:32}") int bufferSize,
+                               @Value("${app.sse.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                               @Value("${app.sse.timeout-millis:1800000}") long emitterTimeoutMillis,
+                               @Value("${app.sse.heartbeat-seconds:30}") long heartbeatSeconds) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        // Heartbeats keep proxies from closing idle streams and surface dead connections as send failures
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(userId, emitter, subscriberSequence.incrementAndGet());
+
+        // Added inside compute, so a concurrent remove can't drop the user's set between lookup and add
+        Set<Subscriber> subscribers = subscribersByUser.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set != null ? set : ConcurrentHashMap.<Subscriber>newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Too many tabs/devices for one user: drop the oldest stream
+        if (subscribers.size() > maxSubscribersPerUser) {
+            subscribers.stream()
+                    .min(Comparator.comparingLong(s -> s.sequence))
+                    .ifPresent(oldest -> evict(oldest, "too many subscribers"));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ApplicationChangeEvent event) {
+        Set<Subscriber> subscribers = subscribersByUser.get(event.userId());
+        if (subscribers == null) {
+            return;
+        }
+        SseEmitter.SseEventBuilder message = SseEmitter.event()
+                .name(event.type().name().toLowerCase())
+                .data(event);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(message);
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMillis);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().comment("keepalive");
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(s -> s.enqueue(heartbeat)));
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        log.debug("Disconnecting SSE subscriber for user {}: {}", subscriber.userId, reason);
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    // Removes and drops the emptied set in one step, see subscribe
+    private void remove(Subscriber subscriber) {
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long sequence;
+        // Linked rather than array-backed, so an idle subscriber holds no preallocated buffer
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, long sequence) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.sequence = sequence;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder message) {
+            if (pendingCount.incrementAndGet() > bufferSize) {
+                // Slow consumer: never let one client grow server memory without bound
+                pendingCount.decrementAndGet();
+                evict(this, "outbound buffer full");
+                return;
+            }
+            pending.add(message);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder message;
+                while ((message = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued between the last poll and clearing the flag
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
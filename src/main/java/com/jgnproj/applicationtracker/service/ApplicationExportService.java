@@ -0,0 +1,136 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes a user's full application history straight to the response stream.
+// Rows are pulled from a database cursor and detached one at a time, so memory use
+// does not depend on how many applications the user has.
+@Service
+public class ApplicationExportService {
+
+    // How many rows to write between flushes to the client
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(Long userId, OutputStream out) throws IOException {
+        // Flushing after every row would turn each line into its own socket write; indenting would break the
+        // one-object-per-line format
+        ObjectWriter writer = objectMapper.writerFor(JobApplication.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.INDENT_OUTPUT);
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = ignoreSecondLevelCache(session);
+        try (Stream<JobApplication> rows = jobApplicationRepository.streamByUserId(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the output stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the '\n' written below; Jackson would otherwise put a space before every
+            // object after the first
+            generator.setRootValueSeparator(null);
+
+            int written = 0;
+            Iterator<JobApplication> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                JobApplication application = iterator.next();
+                writer.writeValue(generator, application);
+                generator.writeRaw('\n');
+                entityManager.detach(application);
+
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        } finally {
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,company,position,status,dateApplied,notes,lastUpdated\r\n");
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = ignoreSecondLevelCache(session);
+        try (Stream<JobApplication> rows = jobApplicationRepository.streamByUserId(userId)) {
+            int written = 0;
+            Iterator<JobApplication> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                JobApplication application = iterator.next();
+                writer.write(csvField(application.getId()));
+                writer.write(',');
+                writer.write(csvField(application.getCompany()));
+                writer.write(',');
+                writer.write(csvField(application.getPosition()));
+                writer.write(',');
+                writer.write(csvField(application.getStatus() == null ? null : application.getStatus().getLabel()));
+                writer.write(',');
+                writer.write(csvField(application.getDateApplied()));
+                writer.write(',');
+                writer.write(csvField(application.getNotes()));
+                writer.write(',');
+                writer.write(csvField(application.getLastUpdated()));
+                writer.write("\r\n");
+                entityManager.detach(application);
+
+                if (++written % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        } finally {
+            session.setCacheMode(previousCacheMode);
+        }
+        // Flush but don't close: the servlet container owns the output stream
+        writer.flush();
+    }
+
+    // A full export would otherwise put every row it reads into the second-level cache, evicting the entries the
+    // API actually re-reads. Returns the previous mode so the caller can restore it on the shared session.
+    private static CacheMode ignoreSecondLevelCache(Session session) {
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        return previous;
+    }
+
+    // RFC 4180 quoting: wrap in quotes when the value contains a delimiter, quote or line break
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,151 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.dto.DashboardSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStat;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.repository.ApplicationStatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Serves the dashboard from the per-user counters in application_stat, so a read touches a few dozen rows
+// no matter how many applications the user has. The counters are written by a database trigger
+// (V3__dashboard_stats.sql), not here.
+@Service
+public class ApplicationStatsService {
+
+    public static final int DEFAULT_WEEKS = 12;
+    public static final int MAX_WEEKS = 104;
+
+    // Stages of the response funnel, in order
+    static final List<ApplicationStatus> FUNNEL = List.of(ApplicationStatus.APPLIED, ApplicationStatus.INTERVIEWING, ApplicationStatus.OFFER);
+    private static final String TRANSITION_SEPARATOR = "->";
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationStatsService.class);
+
+    @Autowired
+    private ApplicationStatRepository applicationStatRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.stats.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Transactional(readOnly = true)
+    public DashboardSummary getSummary(Long userId, int weeks) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("weeks must be between 1 and " + MAX_WEEKS);
+        }
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<ApplicationStatus, Long> entered = new EnumMap<>(ApplicationStatus.class);
+        List<DashboardSummary.Transition> transitions = new ArrayList<>();
+        long total = 0;
+        long leftApplied = 0;
+
+        for (ApplicationStat stat : applicationStatRepository.findByUserIdAndKindIn(userId,
+                List.of(ApplicationStat.STATUS, ApplicationStat.ENTERED, ApplicationStat.TRANSITION))) {
+            switch (stat.getKind()) {
+                case ApplicationStat.STATUS -> {
+                    ApplicationStatus status = statusOf(stat.getBucket());
+                    total += stat.getTotal();
+                    if (status != null && stat.getTotal() > 0) {
+                        byStatus.put(status.getLabel(), stat.getTotal());
+                    }
+                }
+                case ApplicationStat.ENTERED -> {
+                    ApplicationStatus status = statusOf(stat.getBucket());
+                    if (status != null) {
+                        entered.put(status, stat.getTotal());
+                    }
+                }
+                case ApplicationStat.TRANSITION -> {
+                    int separator = stat.getBucket().indexOf(TRANSITION_SEPARATOR);
+                    ApplicationStatus from = statusOf(stat.getBucket().substring(0, separator));
+                    ApplicationStatus to = statusOf(stat.getBucket().substring(separator + TRANSITION_SEPARATOR.length()));
+                    transitions.add(new DashboardSummary.Transition(labelOf(from), labelOf(to), stat.getTotal()));
+                    if (from == ApplicationStatus.APPLIED) {
+                        leftApplied += stat.getTotal();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        List<DashboardSummary.FunnelStage> funnel = new ArrayList<>(FUNNEL.size());
+        for (ApplicationStatus status : FUNNEL) {
+            funnel.add(new DashboardSummary.FunnelStage(status.getLabel(), entered.getOrDefault(status, 0L)));
+        }
+        long enteredApplied = entered.getOrDefault(ApplicationStatus.APPLIED, 0L);
+        Double responseRate = enteredApplied == 0 ? null : Math.min(1.0, (double) leftApplied / enteredApplied);
+
+        return new DashboardSummary(total, byStatus, perWeek(userId, weeks), funnel, transitions, responseRate);
+    }
+
+    // Recomputes status and week counters from job_application for all users. Transition and "entered"
+    // counters are history and cannot be recomputed; "entered" is raised to at least the current status counts.
+    // Holds a SHARE lock on job_application, so writes wait until it finishes.
+    @Scheduled(cron = "${app.stats.rebuild-cron:-}")
+    @Transactional
+    public void rebuild() {
+        applicationStatRepository.lockApplicationsForRebuild();
+        applicationStatRepository.deleteRecomputableStats();
+        int statuses = applicationStatRepository.insertStatusStats();
+        int weeks = applicationStatRepository.insertWeekStats();
+        applicationStatRepository.backfillEnteredStats();
+        log.info("Rebuilt dashboard counters: {} status and {} week buckets", statuses, weeks);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartupIfEnabled() {
+        if (rebuildOnStartup) {
+            // A call on this bypasses the proxy and so rebuild's @Transactional; without a transaction the table
+            // lock would be released straight away and every step would commit on its own
+            transactionTemplate.executeWithoutResult(status -> rebuild());
+        }
+    }
+
+    // Status buckets hold the status code; "" stands for applications without a status
+    static ApplicationStatus statusOf(String bucket) {
+        return bucket.isEmpty() ? null : ApplicationStatus.fromCode(Short.parseShort(bucket));
+    }
+
+    private static String labelOf(ApplicationStatus status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    // Consecutive weeks ending with the current one, including weeks without applications
+    private List<DashboardSummary.WeekCount> perWeek(Long userId, int weekCount) {
+        LocalDate thisWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate firstWeek = thisWeek.minusWeeks(weekCount - 1L);
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (LocalDate week = firstWeek; !week.isAfter(thisWeek); week = week.plusWeeks(1)) {
+            counts.put(week, 0L);
+        }
+        for (ApplicationStat stat : applicationStatRepository.findByUserIdAndKindAndBucketGreaterThanEqualOrderByBucket(
+                userId, ApplicationStat.WEEK, firstWeek.toString())) {
+            counts.computeIfPresent(LocalDate.parse(stat.getBucket()), (week, count) -> stat.getTotal());
+        }
+        List<DashboardSummary.WeekCount> perWeek = new ArrayList<>(counts.size());
+        counts.forEach((week, count) -> perWeek.add(new DashboardSummary.WeekCount(week, count)));
+        return perWeek;
+    }
+}
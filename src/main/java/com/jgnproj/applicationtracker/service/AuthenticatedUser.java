@@ -0,0 +1,6 @@
+package com.jgnproj.applicationtracker.service;
+
+// The signed-in user, recovered from a verified access token without touching the database.
+// Controllers receive it with @AuthenticationPrincipal.
+public record AuthenticatedUser(Long id, String email) {
+}
@@ -0,0 +1,22 @@
+package com.jgnproj.applicationtracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Delta-sync watermark: everything modified after this instant has not been sent to the client yet.
+// Serialized as an opaque base64url token, like ApplicationCursor.
+public record ChangeToken(LocalDateTime watermark) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(watermark.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            return new ChangeToken(LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token);
+        }
+    }
+}
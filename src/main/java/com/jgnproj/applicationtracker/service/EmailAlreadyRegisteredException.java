@@ -0,0 +1,9 @@
+package com.jgnproj.applicationtracker.service;
+
+// Thrown when signing up with an email that already has an account; callers should answer 409
+public class EmailAlreadyRegisteredException extends RuntimeException {
+
+    public EmailAlreadyRegisteredException(String email) {
+        super("User with this email already exists: " + email);
+    }
+}
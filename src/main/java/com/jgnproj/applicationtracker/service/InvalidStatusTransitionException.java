@@ -0,0 +1,16 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+
+// Thrown when an update would move an application to a status it can't reach from its current one
+// (see ApplicationStatus.canMoveTo); callers should answer 409
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(ApplicationStatus from, ApplicationStatus to) {
+        super("Cannot change status from " + label(from) + " to " + label(to));
+    }
+
+    private static String label(ApplicationStatus status) {
+        return status == null ? "none" : status.getLabel();
+    }
+}
@@ -1,56 +1,421 @@
 package com.jgnproj.applicationtracker.service;
 
 
+import com.jgnproj.applicationtracker.config.CacheConfig;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationQuery;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.dto.BatchOperation;
+import com.jgnproj.applicationtracker.dto.BatchResult;
+import com.jgnproj.applicationtracker.dto.ChangeSet;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.ApplicationTombstone;
 import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.ApplicationTombstoneRepository;
 import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import com.jgnproj.applicationtracker.repository.JobApplicationSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class JobApplicationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int MAX_CHANGES = 1000;
+
+    // A write stamped with lastUpdated = T may commit a little after T. Sync tokens never advance closer
+    // than this to "now", so such late commits are re-sent on the next poll rather than skipped.
+    private static final Duration COMMIT_SAFETY_WINDOW = Duration.ofSeconds(5);
+
     @Autowired
     private JobApplicationRepository jobApplicationRepository;
 
-    public List<JobApplication> getAllApplications() {
-        // In a real application, this would be filtered by the authenticated user's ID
-        return jobApplicationRepository.findAll();
+    @Autowired
+    private ApplicationTombstoneRepository applicationTombstoneRepository;
+
+    // Change notifications for SSE subscribers (see ApplicationEventBus), delivered after commit
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Used directly only where the annotations can't name the keys (applyBatch)
+    @Autowired
+    private CacheManager cacheManager;
+
+    // How long deletions are remembered for delta sync; older tokens force a full resync
+    @Value("${app.sync.tombstone-retention:P7D}")
+    private Duration tombstoneRetention;
+
+    // Read-only transactions: Hibernate neither flushes nor dirty-checks (FlushMode.MANUAL), and when a replica is
+    // configured the queries run there (see ReadReplicaConfig)
+    @Transactional(readOnly = true)
+    public ApplicationPage listApplications(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to find out whether another page exists without a count query
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<ApplicationSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = jobApplicationRepository.findFirstPageByUserId(userId, window);
+        } else {
+            ApplicationCursor after = ApplicationCursor.decode(cursor);
+            rows = jobApplicationRepository.findPageByUserIdAfter(userId, after.lastUpdated(), after.id(), window);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new ApplicationPage(rows, null);
+        }
+        List<ApplicationSummary> items = rows.subList(0, pageSize);
+        ApplicationSummary last = items.get(pageSize - 1);
+        return new ApplicationPage(items, new ApplicationCursor(last.lastUpdated(), last.id()).encode());
+    }
+
+    // Filtered and/or re-sorted listing (see ApplicationQuery), keyset-paginated like listApplications.
+    // The cursor is tied to the sort it was issued for; rows without a value for the sort key come last.
+    @Transactional(readOnly = true)
+    public ApplicationPage searchApplications(Long userId, ApplicationQuery query, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String property = query.sort().getProperty();
+
+        Specification<JobApplication> spec = JobApplicationSpecifications.ownedBy(userId);
+        if (query.status() != null) {
+            spec = spec.and(JobApplicationSpecifications.hasStatus(query.status()));
+        }
+        if (query.company() != null && !query.company().isBlank()) {
+            spec = spec.and(JobApplicationSpecifications.companyContains(query.company()));
+        }
+        if (query.appliedFrom() != null) {
+            spec = spec.and(JobApplicationSpecifications.appliedOnOrAfter(query.appliedFrom()));
+        }
+        if (query.appliedTo() != null) {
+            spec = spec.and(JobApplicationSpecifications.appliedOnOrBefore(query.appliedTo()));
+        }
+        if (query.search() != null && !query.search().isBlank()) {
+            spec = spec.and(JobApplicationSpecifications.matchesSearch(query.search()));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            SearchCursor after = SearchCursor.decode(cursor);
+            if (after.sort() != query.sort()) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort: " + cursor);
+            }
+            Comparable<?> value = after.value() == null ? null : query.sort().parse(after.value());
+            spec = spec.and(JobApplicationSpecifications.after(property, query.direction(), value, after.id()));
+        }
+
+        spec = spec.and(JobApplicationSpecifications.orderedBy(property, query.direction()));
+        // One extra row tells whether another page exists; a limit without paging issues no count query
+        List<ApplicationSummary> rows = jobApplicationRepository.findSummaries(spec, pageSize + 1);
+
+        if (rows.size() <= pageSize) {
+            return new ApplicationPage(rows, null);
+        }
+        List<ApplicationSummary> items = rows.subList(0, pageSize);
+        ApplicationSummary last = items.get(pageSize - 1);
+        Object lastValue = switch (query.sort()) {
+            case LAST_UPDATED -> last.lastUpdated();
+            case DATE_APPLIED -> last.dateApplied();
+            case COMPANY -> last.company();
+        };
+        String value = lastValue == null ? null : lastValue.toString();
+        return new ApplicationPage(items, new SearchCursor(query.sort(), value, last.id()).encode());
     }
 
-    public Optional<JobApplication> getApplicationById(Long id) {
-        return jobApplicationRepository.findById(id);
+    // Empty when the application doesn't exist or belongs to another user. Cached per owner, see CacheConfig.
+    // Deliberately not a read-only transaction, so it reads the primary: a lagging replica could put the old row
+    // back into the cache right after an update evicted it.
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS, key = "#userId + ':' + #id", unless = "#result == null")
+    public Optional<JobApplication> getApplicationById(Long id, Long userId) {
+        return jobApplicationRepository.findByIdAndUserId(id, userId);
     }
 
+    // Always inserts a new row: an id or version sent by the client would make save() merge into an existing row,
+    // possibly another user's, so both are cleared and assigned by the database.
+    @CachePut(cacheNames = CacheConfig.APPLICATIONS, key = "#result.userId + ':' + #result.id")
     public JobApplication createApplication(JobApplication application) {
+        application.setId(null);
+        application.setVersion(null);
         application.setLastUpdated(LocalDateTime.now());
-        return jobApplicationRepository.save(application);
+        JobApplication created = jobApplicationRepository.save(application);
+        eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.CREATED, created.getUserId(), created.getId(), created));
+        return created;
     }
 
-    public JobApplication updateApplication(Long id, JobApplication applicationDetails) {
-        JobApplication application = jobApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job Application not found with id: " + id));
+    // Overwrites the editable fields with one UPDATE statement; empty when the id doesn't exist for this user.
+    // When expectedVersion is given (If-Match) the update only applies at that version, otherwise an
+    // OptimisticLockingFailureException is thrown. A status the application can't move to from its current one
+    // throws InvalidStatusTransitionException; the status is required. The returned object is built from the
+    // submitted values rather than re-read from the database, so its version is only known for conditional updates.
+    // Evicted rather than re-cached: the returned object has no version for unconditional updates
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#userId + ':' + #id")
+    public Optional<JobApplication> updateApplication(Long id, Long userId, Long expectedVersion, JobApplication applicationDetails) {
+        ApplicationStatus status = applicationDetails.getStatus();
+        if (status == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jobApplicationRepository.updateByIdAndUserId(id, userId, expectedVersion,
+                status.allowedPredecessors(),
+                applicationDetails.getCompany(),
+                applicationDetails.getPosition(),
+                status,
+                applicationDetails.getDateApplied(),
+                applicationDetails.getNotes(),
+                now);
+        if (updated == 0) {
+            // Rare path: read the row once to tell a missing row, a stale version and a refused transition apart
+            Optional<JobApplication> current = jobApplicationRepository.findByIdAndUserId(id, userId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.get().getVersion())) {
+                throw new OptimisticLockingFailureException(
+                        "Job Application " + id + " is no longer at version " + expectedVersion);
+            }
+            throw new InvalidStatusTransitionException(current.get().getStatus(), status);
+        }
 
-        application.setCompany(applicationDetails.getCompany());
-        application.setPosition(applicationDetails.getPosition());
-        application.setStatus(applicationDetails.getStatus());
-        application.setDateApplied(applicationDetails.getDateApplied());
-        application.setNotes(applicationDetails.getNotes());
-        application.setLastUpdated(LocalDateTime.now());
-        // Do not update userId here as it should be immutable after creation
-        // application.setUserId(applicationDetails.getUserId());
+        JobApplication application = new JobApplication();
+        application.setId(id);
+        application.setUserId(userId);
+        copyEditableFields(applicationDetails, application);
+        application.setLastUpdated(now);
+        application.setVersion(expectedVersion != null ? expectedVersion + 1 : null);
+        eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.UPDATED, userId, id, application));
+        return Optional.of(application);
+    }
 
-        return jobApplicationRepository.save(application);
+    // Deletes with one DELETE statement and records a tombstone for delta sync; false when the id doesn't
+    // exist for this user. Conditional on expectedVersion in the same way as updateApplication.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.APPLICATIONS, key = "#userId + ':' + #id")
+    public boolean deleteApplication(Long id, Long userId, Long expectedVersion) {
+        if (jobApplicationRepository.deleteByIdAndUserId(id, userId, expectedVersion) > 0) {
+            applicationTombstoneRepository.save(new ApplicationTombstone(id, userId, LocalDateTime.now()));
+            eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.DELETED, userId, id, null));
+            return true;
+        }
+        throwIfVersionConflict(id, userId, expectedVersion);
+        return false;
     }
 
-    public void deleteApplication(Long id) {
-        if (!jobApplicationRepository.existsById(id)) {
-            throw new RuntimeException("Job Application not found with id: " + id);
+    // Returns what changed for the user since the given sync token, so clients can poll
+    // in O(changes) instead of reloading the whole list. Reads the primary (no read-only transaction): rows still
+    // missing on a lagging replica would be skipped for good once the token moves past them.
+    public ChangeSet getChangesSince(Long userId, String since) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime safeWatermark = now.minus(COMMIT_SAFETY_WINDOW);
+        if (since == null || since.isEmpty()) {
+            return resyncFrom(safeWatermark);
         }
-        jobApplicationRepository.deleteById(id);
+
+        LocalDateTime watermark = ChangeToken.decode(since).watermark();
+        if (watermark.isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones this old may already be purged, so deletions could be missed
+            return resyncFrom(safeWatermark);
+        }
+
+        List<JobApplication> changed = jobApplicationRepository.findChangedSince(userId, watermark, PageRequest.of(0, MAX_CHANGES + 1));
+        if (changed.size() > MAX_CHANGES) {
+            // Cheaper for the client to reload pages than to replay this many changes
+            return resyncFrom(safeWatermark);
+        }
+        List<ApplicationTombstone> tombstones = applicationTombstoneRepository.findByUserIdAndDeletedAtAfter(userId, watermark);
+
+        LocalDateTime next = watermark;
+        for (JobApplication application : changed) {
+            if (application.getLastUpdated().isAfter(next)) {
+                next = application.getLastUpdated();
+            }
+        }
+        List<Long> deleted = new ArrayList<>(tombstones.size());
+        for (ApplicationTombstone tombstone : tombstones) {
+            deleted.add(tombstone.getApplicationId());
+            if (tombstone.getDeletedAt().isAfter(next)) {
+                next = tombstone.getDeletedAt();
+            }
+        }
+        if (next.isAfter(safeWatermark)) {
+            next = watermark.isAfter(safeWatermark) ? watermark : safeWatermark;
+        }
+        return new ChangeSet(changed, deleted, new ChangeToken(next).encode(), false);
+    }
+
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        applicationTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private static ChangeSet resyncFrom(LocalDateTime watermark) {
+        return new ChangeSet(List.of(), List.of(), new ChangeToken(watermark).encode(), true);
+    }
+
+    // A conditional write that matched nothing either hit a missing row or a stale version.
+    // Only this failure path pays for the extra lookup.
+    private void throwIfVersionConflict(Long id, Long userId, Long expectedVersion) {
+        if (expectedVersion != null && jobApplicationRepository.existsByIdAndUserId(id, userId)) {
+            throw new OptimisticLockingFailureException(
+                    "Job Application " + id + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    // Applies a mixed list of creates, updates and deletes for one user in a single transaction.
+    // Updates and deletes share one SELECT, inserts and updates are flushed as JDBC batches,
+    // and deletes go out as one statement. Ids that don't exist for this user are reported as not_found.
+    // An update to a status the application can't move to throws InvalidStatusTransitionException and nothing is applied.
+    @Transactional
+    public BatchResult applyBatch(Long userId, List<BatchOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_SIZE + " operations");
+        }
+
+        Set<Long> referencedIds = new HashSet<>();
+        for (BatchOperation operation : operations) {
+            if (operation.op() == null) {
+                throw new IllegalArgumentException("Batch operation type is required");
+            }
+            if (operation.op() != BatchOperation.Type.DELETE && operation.application() == null) {
+                throw new IllegalArgumentException("Batch " + operation.op() + " requires an application");
+            }
+            if (operation.op() != BatchOperation.Type.CREATE) {
+                if (operation.id() == null) {
+                    throw new IllegalArgumentException("Batch " + operation.op() + " requires an id");
+                }
+                referencedIds.add(operation.id());
+            }
+        }
+
+        Map<Long, JobApplication> existing = referencedIds.isEmpty()
+                ? Map.of()
+                : jobApplicationRepository.findByUserIdAndIdIn(userId, referencedIds).stream()
+                        .collect(Collectors.toMap(JobApplication::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JobApplication> toCreate = new ArrayList<>();
+        List<JobApplication> toDelete = new ArrayList<>();
+        Set<Long> deletedIds = new HashSet<>();
+        // Created entries only get their id after saveAll, so fill results in a second pass
+        JobApplication[] created = new JobApplication[operations.size()];
+        BatchResult.Status[] statuses = new BatchResult.Status[operations.size()];
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            switch (operation.op()) {
+                case CREATE -> {
+                    JobApplication application = operation.application();
+                    // As in createApplication: a client id or version would turn the insert into a merge
+                    application.setId(null);
+                    application.setVersion(null);
+                    application.setUserId(userId);
+                    application.setLastUpdated(now);
+                    toCreate.add(application);
+                    created[i] = application;
+                    statuses[i] = BatchResult.Status.CREATED;
+                }
+                case UPDATE -> {
+                    JobApplication application = existing.get(operation.id());
+                    if (application == null || deletedIds.contains(operation.id())) {
+                        statuses[i] = BatchResult.Status.NOT_FOUND;
+                    } else {
+                        checkTransition(application.getStatus(), operation.application().getStatus());
+                        // Managed entity: the change is flushed by dirty checking at commit
+                        copyEditableFields(operation.application(), application);
+                        application.setLastUpdated(now);
+                        statuses[i] = BatchResult.Status.UPDATED;
+                    }
+                }
+                case DELETE -> {
+                    JobApplication application = existing.get(operation.id());
+                    if (application == null || !deletedIds.add(operation.id())) {
+                        statuses[i] = BatchResult.Status.NOT_FOUND;
+                    } else {
+                        toDelete.add(application);
+                        statuses[i] = BatchResult.Status.DELETED;
+                    }
+                }
+            }
+        }
+
+        jobApplicationRepository.saveAll(toCreate);
+        if (!toDelete.isEmpty()) {
+            jobApplicationRepository.deleteAllInBatch(toDelete);
+            List<ApplicationTombstone> tombstones = new ArrayList<>(toDelete.size());
+            for (JobApplication application : toDelete) {
+                tombstones.add(new ApplicationTombstone(application.getId(), userId, now));
+            }
+            applicationTombstoneRepository.saveAll(tombstones);
+        }
+
+        evictCachedApplications(userId, existing.keySet());
+
+        List<BatchResult.Item> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Long id = created[i] != null ? created[i].getId() : operations.get(i).id();
+            results.add(new BatchResult.Item(i, id, statuses[i]));
+            switch (statuses[i]) {
+                case CREATED -> eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.CREATED, userId, id, created[i]));
+                case UPDATED -> eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.UPDATED, userId, id, existing.get(id)));
+                case DELETED -> eventPublisher.publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.DELETED, userId, id, null));
+                default -> {
+                }
+            }
+        }
+        return new BatchResult(results);
+    }
+
+    // The cache manager is transaction-aware, so these evictions take effect when the batch commits
+    private void evictCachedApplications(Long userId, Set<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.APPLICATIONS);
+        if (cache == null) {
+            return;
+        }
+        for (Long id : ids) {
+            cache.evict(userId + ":" + id);
+        }
+    }
+
+    // Legacy rows without a status may move to any status
+    private static void checkTransition(ApplicationStatus from, ApplicationStatus to) {
+        if (to == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (from != null && !from.canMoveTo(to)) {
+            throw new InvalidStatusTransitionException(from, to);
+        }
+    }
+
+    private void copyEditableFields(JobApplication source, JobApplication target) {
+        target.setCompany(source.getCompany());
+        target.setPosition(source.getPosition());
+        target.setStatus(source.getStatus());
+        target.setDateApplied(source.getDateApplied());
+        target.setNotes(source.getNotes());
+        // Do not update userId here as it should be immutable after creation
     }
 }
\ No newline at end of file
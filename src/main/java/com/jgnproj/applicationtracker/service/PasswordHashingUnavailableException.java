@@ -0,0 +1,9 @@
+package com.jgnproj.applicationtracker.service;
+
+// Thrown when the password hashing pool is saturated; callers should answer 503 and let the client retry
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
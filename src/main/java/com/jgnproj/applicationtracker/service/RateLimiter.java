@@ -0,0 +1,42 @@
+package com.jgnproj.applicationtracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Per-client request budgets for each endpoint group, enforced by RateLimitFilter.
+// AUTH (signup/signin) is keyed by IP address and kept tight because every call costs a BCrypt hash;
+// API (/api/applications) is keyed by the signed-in user.
+@Component
+public class RateLimiter {
+
+    public enum Group {
+        AUTH, API
+    }
+
+    private final Map<Group, TokenBucketTable> tables = new EnumMap<>(Group.class);
+
+    public RateLimiter(@Value("${app.rate-limit.auth.capacity:10}") int authCapacity,
+                       @Value("${app.rate-limit.auth.per-minute:10}") int authPerMinute,
+                       @Value("${app.rate-limit.api.capacity:100}") int apiCapacity,
+                       @Value("${app.rate-limit.api.per-minute:600}") int apiPerMinute,
+                       @Value("${app.rate-limit.max-keys:100000}") int maxKeys) {
+        tables.put(Group.AUTH, new TokenBucketTable(authCapacity, authPerMinute / 60.0, maxKeys));
+        tables.put(Group.API, new TokenBucketTable(apiCapacity, apiPerMinute / 60.0, maxKeys));
+    }
+
+    // Returns 0 when the request may proceed, otherwise the nanoseconds until the client may retry
+    public long tryAcquire(Group group, String key) {
+        return tables.get(group).tryAcquire(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval:PT1M}")
+    public void evictIdle() {
+        for (TokenBucketTable table : tables.values()) {
+            table.evictIdle();
+        }
+    }
+}
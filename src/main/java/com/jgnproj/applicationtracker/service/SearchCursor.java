@@ -0,0 +1,29 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.dto.ApplicationSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Keyset position for filtered or re-sorted listings: the sort it belongs to, the last row's sort value
+// (null when paging through rows that have no value) and its id. Opaque base64url, like ApplicationCursor.
+public record SearchCursor(ApplicationSort sort, String value, Long id) {
+
+    public String encode() {
+        String raw = sort.name() + "," + id + "," + (value == null ? "-" : "+" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(",", 3);
+            String value = parts[2].startsWith("+") ? parts[2].substring(1) : null;
+            if (value == null && !parts[2].equals("-")) {
+                throw new IllegalArgumentException();
+            }
+            return new SearchCursor(ApplicationSort.valueOf(parts[0]), value, Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
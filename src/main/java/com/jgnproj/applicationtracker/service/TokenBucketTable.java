@@ -0,0 +1,109 @@
+package com.jgnproj.applicationtracker.service;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Lock-free token buckets keyed by client (user id or IP address).
+// Each bucket is a single AtomicLong holding the time at which it will be full again (the GCRA form of a token
+// bucket), so a check is one map lookup plus one CAS and never blocks. A bucket whose refill time has passed is
+// full and carries no state, so it can be dropped at any time: that is how idle keys are evicted.
+// Keys are spread over independent stripes; a stripe that reaches its share of maxKeys sends new keys to a shared
+// overflow bucket instead of growing, so memory stays bounded even when someone sprays random keys.
+public class TokenBucketTable {
+
+    private static final int STRIPES = 64; // Power of two
+
+    private final long refillNanos;     // Time to earn back one token
+    private final long burstNanos;      // capacity * refillNanos
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLong[] overflow;
+
+    public TokenBucketTable(int capacity, double tokensPerSecond, int maxKeys) {
+        this(capacity, tokensPerSecond, maxKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketTable(int capacity, double tokensPerSecond, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs capacity >= 1 and a positive refill rate");
+        }
+        this.refillNanos = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = refillNanos * capacity;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.nanoClock = nanoClock;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        this.overflow = new AtomicLong[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflow[i] = new AtomicLong(Long.MIN_VALUE);
+        }
+    }
+
+    // Takes one token for the key. Returns 0 when allowed, otherwise how many nanoseconds until a token is available.
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + refillNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops buckets that have refilled completely. A request racing with the removal may go uncounted,
+    // which only ever errs on the side of letting one extra request through.
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        int index = spread(key.hashCode()) & (STRIPES - 1);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            evictIdle(stripe, now);
+            if (stripe.size() >= maxKeysPerStripe) {
+                return overflow[index];
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    private static void evictIdle(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        Iterator<AtomicLong> buckets = stripe.values().iterator();
+        while (buckets.hasNext()) {
+            if (buckets.next().get() <= now) {
+                buckets.remove();
+            }
+        }
+    }
+
+    // Same bit spreading as HashMap, so stripes don't just mirror the low bits of String.hashCode
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
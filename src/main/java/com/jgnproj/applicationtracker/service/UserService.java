@@ -1,10 +1,13 @@
 package com.jgnproj.applicationtracker.service;
 
 
+import com.jgnproj.applicationtracker.config.CacheConfig;
 import com.jgnproj.applicationtracker.model.User;
 import com.jgnproj.applicationtracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -15,28 +18,55 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    // Hashes on a bounded pool rather than the request thread, see PasswordHasher
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
+    // The new user is cached right away, since signing in usually follows signing up
+    @CachePut(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email")
     public User registerNewUser(String email, String password) {
         if (userRepository.findByEmail(email).isPresent()) {
-            throw new RuntimeException("User with this email already exists: " + email);
+            throw new EmailAlreadyRegisteredException(email);
         }
 
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHasher.encode(password);
 
         User newUser = new User();
         newUser.setEmail(email);
         newUser.setPasswordHash(hashedPassword);
 
-        return userRepository.save(newUser);
+        try {
+            return userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent signup with the same email got past the check above; the unique constraint caught it
+            throw new EmailAlreadyRegisteredException(email);
+        }
     }
 
+    // Unknown emails are not cached, so a later signup is visible immediately
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email", unless = "#result == null")
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
     public boolean checkPassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHasher.matches(rawPassword, encodedPassword);
+    }
+
+    // Call after a successful sign-in, while the raw password is at hand: re-hashes it with the current
+    // algorithm and cost if the stored hash is outdated. Skipped (and retried on a later sign-in)
+    // when the hashing pool is busy, so upgrades never cause a sign-in to fail.
+    // Returns the user, which also refreshes the cached copy (evicting here would empty the cache on every sign-in).
+    @CachePut(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#user.email")
+    public User upgradePasswordIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPasswordHash())) {
+            return user;
+        }
+        try {
+            user.setPasswordHash(passwordHasher.encode(rawPassword));
+            return userRepository.save(user);
+        } catch (PasswordHashingUnavailableException e) {
+            return user; // Try again next time
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+-- Tables, sequences and indexes for the JPA entities. Hibernate only validates this schema
+-- (spring.jpa.hibernate.ddl-auto=validate), so entity changes need a new migration.
+-- Databases created earlier by ddl-auto=update are baselined below V1 (see spring.flyway.baseline-version), so this
+-- runs once against them too: CREATE ... IF NOT EXISTS leaves their tables alone, and the statements after each
+-- table bring such a database up to what the entities expect.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS job_application_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS job_application (
+    id           BIGINT PRIMARY KEY,
+    user_id      BIGINT,
+    company      VARCHAR(255),
+    position     VARCHAR(255),
+    status       SMALLINT,
+    date_applied DATE,
+    notes        VARCHAR(255),
+    last_updated TIMESTAMP(6),
+    version      BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Databases from before the sequence (ids were IDENTITY) already hold the ids it would start with. Hibernate's
+-- pooled optimizer hands out the 50 ids up to each value it reads, so the next value has to be max(id) + 50.
+SELECT setval('job_application_seq', COALESCE((SELECT max(id) FROM job_application), 0) + 50, false);
+-- Tables from before optimistic locking have no version column; existing rows start at 0
+ALTER TABLE job_application ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Keyset-paginated listing and delta sync: WHERE user_id = ? ORDER BY last_updated DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_job_application_user_last_updated ON job_application (user_id, last_updated DESC, id DESC);
+-- Status filter and per-status counts
+CREATE INDEX IF NOT EXISTS idx_job_application_user_status ON job_application (user_id, status);
+-- appliedFrom/appliedTo filters and sort=dateApplied
+CREATE INDEX IF NOT EXISTS idx_job_application_user_date_applied ON job_application (user_id, date_applied, id);
+
+CREATE SEQUENCE IF NOT EXISTS application_tombstone_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS application_tombstone (
+    id             BIGINT PRIMARY KEY,
+    application_id BIGINT,
+    user_id        BIGINT,
+    deleted_at     TIMESTAMP(6)
+);
+
+-- A sequence created after the table was filled would hand out taken ids; see job_application_seq above
+SELECT setval('application_tombstone_seq', COALESCE((SELECT max(id) FROM application_tombstone), 0) + 50, false);
+
+-- Delta sync reads one user's recent deletions; the purge job deletes by age across all users
+CREATE INDEX IF NOT EXISTS idx_application_tombstone_user_deleted_at ON application_tombstone (user_id, deleted_at);
+CREATE INDEX IF NOT EXISTS idx_application_tombstone_deleted_at ON application_tombstone (deleted_at);
+
+-- Dashboard counters, see ApplicationStat and V3
+CREATE TABLE IF NOT EXISTS application_stat (
+    user_id BIGINT       NOT NULL,
+    kind    VARCHAR(255) NOT NULL,
+    bucket  VARCHAR(255) NOT NULL,
+    total   BIGINT       NOT NULL,
+    PRIMARY KEY (user_id, kind, bucket)
+);
+
+-- Databases created before statuses became ApplicationStatus codes still store free text: convert it
+-- (keep the CASE in step with the enum; values that match no status become NULL) and re-key the dashboard
+-- counters the same way.
+CREATE OR REPLACE FUNCTION application_status_code(p_label TEXT) RETURNS SMALLINT AS $$
+    SELECT CASE lower(trim(p_label))
+        WHEN 'wishlist' THEN 1
+        WHEN 'applied' THEN 2
+        WHEN 'interviewing' THEN 3
+        WHEN 'offer' THEN 4
+        WHEN 'rejected' THEN 5
+    END::SMALLINT
+$$ LANGUAGE sql IMMUTABLE;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'job_application'
+                 AND column_name = 'status' AND data_type <> 'smallint') THEN
+        -- The stats trigger names the column, which blocks the type change; V3 recreates it
+        DROP TRIGGER IF EXISTS job_application_stats ON job_application;
+        ALTER TABLE job_application ALTER COLUMN status TYPE SMALLINT USING application_status_code(status);
+
+        WITH old AS (
+            DELETE FROM application_stat WHERE kind IN ('status', 'entered', 'transition') RETURNING *
+        )
+        INSERT INTO application_stat (user_id, kind, bucket, total)
+        SELECT user_id, kind,
+               CASE kind
+                   WHEN 'transition' THEN coalesce(application_status_code(split_part(bucket, '->', 1))::text, '')
+                       || '->' || coalesce(application_status_code(split_part(bucket, '->', 2))::text, '')
+                   ELSE coalesce(application_status_code(bucket)::text, '')
+               END,
+               sum(total)
+        FROM old
+        GROUP BY 1, 2, 3;
+    END IF;
+END;
+$$;
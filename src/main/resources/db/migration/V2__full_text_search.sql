@@ -0,0 +1,10 @@
+-- Full-text search over company (weight A), position (B) and notes (C). Generated, so it can never drift
+-- from the row; not mapped on JobApplication, queried through matches_search (SearchFunctionContributor).
+ALTER TABLE job_application ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(company, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(position, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(notes, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_job_application_search ON job_application USING GIN (search_vector);
@@ -0,0 +1,46 @@
+-- Dashboard counters (application_stat, see ApplicationStat), kept current by a row trigger so that every
+-- write path - including the single-statement UPDATE/DELETE and batch deletes - updates them in its own
+-- transaction. Only the trigger sees the old status, which is what makes transitions countable.
+CREATE OR REPLACE FUNCTION bump_application_stat(p_user_id BIGINT, p_kind TEXT, p_bucket TEXT, p_delta BIGINT)
+RETURNS void AS $$
+BEGIN
+    IF p_user_id IS NULL OR p_bucket IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO application_stat (user_id, kind, bucket, total) VALUES (p_user_id, p_kind, p_bucket, p_delta)
+    ON CONFLICT (user_id, kind, bucket) DO UPDATE SET total = application_stat.total + EXCLUDED.total;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION job_application_stats() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        IF TG_OP = 'DELETE' OR NEW.status IS DISTINCT FROM OLD.status OR NEW.user_id IS DISTINCT FROM OLD.user_id THEN
+            PERFORM bump_application_stat(OLD.user_id, 'status', coalesce(OLD.status::text, ''), -1);
+        END IF;
+        IF TG_OP = 'DELETE' OR date_trunc('week', NEW.date_applied) IS DISTINCT FROM date_trunc('week', OLD.date_applied)
+                OR NEW.user_id IS DISTINCT FROM OLD.user_id THEN
+            PERFORM bump_application_stat(OLD.user_id, 'week', to_char(date_trunc('week', OLD.date_applied), 'YYYY-MM-DD'), -1);
+        END IF;
+    END IF;
+
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND (NEW.status IS DISTINCT FROM OLD.status OR NEW.user_id IS DISTINCT FROM OLD.user_id)) THEN
+        PERFORM bump_application_stat(NEW.user_id, 'status', coalesce(NEW.status::text, ''), 1);
+        PERFORM bump_application_stat(NEW.user_id, 'entered', coalesce(NEW.status::text, ''), 1);
+        IF TG_OP = 'UPDATE' AND NEW.user_id IS NOT DISTINCT FROM OLD.user_id THEN
+            PERFORM bump_application_stat(NEW.user_id, 'transition', coalesce(OLD.status::text, '') || '->' || coalesce(NEW.status::text, ''), 1);
+        END IF;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND (date_trunc('week', NEW.date_applied) IS DISTINCT FROM date_trunc('week', OLD.date_applied)
+            OR NEW.user_id IS DISTINCT FROM OLD.user_id)) THEN
+        PERFORM bump_application_stat(NEW.user_id, 'week', to_char(date_trunc('week', NEW.date_applied), 'YYYY-MM-DD'), 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS job_application_stats ON job_application;
+
+CREATE TRIGGER job_application_stats
+    AFTER INSERT OR DELETE OR UPDATE OF status, date_applied, user_id ON job_application
+    FOR EACH ROW EXECUTE FUNCTION job_application_stats();
@@ -0,0 +1,47 @@
+package com.jgnproj.applicationtracker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The password encoder bean: which stored hashes still verify and which are reported for upgrade.
+// Low costs keep the test fast; only the ids and counts matter here.
+class PasswordEncoderTest {
+
+    private final ApplicationtrackerApplication application = new ApplicationtrackerApplication();
+
+    @Test
+    void testPbkdf2IterationChangeTriggersUpgrade() {
+        String oldHash = application.passwordEncoder("pbkdf2", 4, 1000).encode("secret");
+        PasswordEncoder raised = application.passwordEncoder("pbkdf2", 4, 2000);
+
+        assertTrue(oldHash.startsWith("{pbkdf2-1000}"));
+        assertTrue(raised.matches("secret", oldHash)); // Still verifies with the count it was made with
+        assertFalse(raised.matches("wrong", oldHash));
+        assertTrue(raised.upgradeEncoding(oldHash));
+        assertFalse(raised.upgradeEncoding(raised.encode("secret")));
+    }
+
+    @Test
+    void testLegacyPbkdf2HashesUseTheOriginalCount() {
+        String legacyHash = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, ApplicationtrackerApplication.LEGACY_PBKDF2_ITERATIONS,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("secret");
+        PasswordEncoder encoder = application.passwordEncoder("pbkdf2", 4, 1000);
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void testBcryptStrengthAndUnprefixedHashes() {
+        String weakHash = application.passwordEncoder("bcrypt", 4, 1000).encode("secret");
+        PasswordEncoder encoder = application.passwordEncoder("bcrypt", 5, 1000);
+
+        assertTrue(encoder.matches("secret", weakHash));
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        // Stored before ids were introduced: plain BCrypt
+        assertTrue(encoder.matches("secret", weakHash.substring("{bcrypt}".length())));
+    }
+}
@@ -0,0 +1,176 @@
+package com.jgnproj.applicationtracker.controller;
+
+import com.jgnproj.applicationtracker.ApplicationtrackerApplication;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.model.User;
+import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import com.jgnproj.applicationtracker.repository.UserRepository;
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The whole application (Tomcat, security, rate limiting, caches, JPA) on an in-memory H2 database, seeded with
+// USERS users of APPLICATIONS_PER_USER applications each, under a mixed read/write workload at increasing
+// numbers of concurrent clients. Prints throughput and latency percentiles per call for every stage; the stage
+// where p99 jumps while req/s stops growing is where the API saturates. H2 stands in for PostgreSQL (the
+// migrations are PostgreSQL-only, so Hibernate creates the schema), so compare runs with each other rather
+// than with production.
+// Run with: mvn -Pload-tests test -Dtest=ApiLoadTest [-Dload.stages=8,32,128 -Dload.measurement=10]
+@Tag("load")
+class ApiLoadTest {
+
+    private static final int USERS = 50;
+    private static final int APPLICATIONS_PER_USER = 200;
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static ConfigurableApplicationContext context;
+    private static String baseUrl;
+    private static final List<String> tokens = new ArrayList<>();
+    private static final List<List<Long>> applicationIds = new ArrayList<>();
+
+    @BeforeAll
+    static void startApplication() {
+        context = new SpringApplicationBuilder(ApplicationtrackerApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:api-load-test;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN",
+                        // The limits would otherwise turn most of the load into 429s
+                        "app.rate-limit.auth.capacity=1000000000",
+                        "app.rate-limit.auth.per-minute=1000000000",
+                        "app.rate-limit.api.capacity=1000000000",
+                        "app.rate-limit.api.per-minute=1000000000")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        seed();
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    // One real hash shared by every user: hashing USERS passwords would dominate the set-up
+    private static void seed() {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JobApplicationRepository jobApplicationRepository = context.getBean(JobApplicationRepository.class);
+        AccessTokenService accessTokenService = context.getBean(AccessTokenService.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail(email(u));
+            user.setPasswordHash(passwordHash);
+            user = userRepository.save(user);
+            tokens.add(accessTokenService.issue(user.getId(), user.getEmail()));
+
+            List<JobApplication> rows = new ArrayList<>(APPLICATIONS_PER_USER);
+            for (int a = 0; a < APPLICATIONS_PER_USER; a++) {
+                JobApplication application = new JobApplication(user.getId(), "Company " + a, "Engineer",
+                        ApplicationStatus.APPLIED, LocalDate.of(2024, 1, 1).plusDays(a % 365), null);
+                application.setLastUpdated(now.minusMinutes(a));
+                rows.add(application);
+            }
+            List<Long> ids = new ArrayList<>(APPLICATIONS_PER_USER);
+            for (JobApplication saved : jobApplicationRepository.saveAll(rows)) {
+                ids.add(saved.getId());
+            }
+            applicationIds.add(ids);
+        }
+    }
+
+    @Test
+    void testMixedWorkload() throws InterruptedException {
+        Duration measurement = Duration.ofSeconds(Long.getLong("load.measurement", 10));
+        List<Integer> stages = new ArrayList<>();
+        for (String stage : System.getProperty("load.stages", "8,32,128").split(",")) {
+            stages.add(Integer.parseInt(stage.trim()));
+        }
+
+        System.out.printf("%d users x %d applications; mix: 60%% list, 15%% get, 10%% create, 10%% update, 5%% sign-in%n",
+                USERS, APPLICATIONS_PER_USER);
+        long firstStageErrors = -1;
+        for (int clients : stages) {
+            Map<String, LoadDriver.Stats> results = LoadDriver.run(clients, WARMUP, measurement, ApiLoadTest::next);
+            LoadDriver.print(clients + " clients", results);
+            if (firstStageErrors < 0) {
+                firstStageErrors = results.values().stream().mapToLong(LoadDriver.Stats::errors).sum();
+            }
+        }
+
+        // Higher stages may legitimately shed load (503 from a full password-hashing queue); the lightest must not
+        assertEquals(0, firstStageErrors, "errors at " + stages.get(0) + " clients");
+    }
+
+    // Each client acts as one user, with a read-heavy mix like the frontend's
+    private static LoadDriver.Call next(int client, SplittableRandom random) {
+        int user = client % USERS;
+        int roll = random.nextInt(100);
+        if (roll < 60) {
+            return new LoadDriver.Call("list", authorized(user, "/api/applications").GET().build());
+        }
+        if (roll < 75) {
+            return new LoadDriver.Call("get", authorized(user, "/api/applications/" + anyApplication(user, random)).GET().build());
+        }
+        if (roll < 85) {
+            return new LoadDriver.Call("create", json(authorized(user, "/api/applications"),
+                    applicationJson("Company " + random.nextInt(10_000), "Applied")).build());
+        }
+        if (roll < 95) {
+            HttpRequest.Builder builder = authorized(user, "/api/applications/" + anyApplication(user, random))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(applicationJson("Company " + user, "Applied")));
+            return new LoadDriver.Call("update", builder.build());
+        }
+        String credentials = "{\"email\":\"" + email(user) + "\",\"password\":\"" + PASSWORD + "\"}";
+        return new LoadDriver.Call("signin", json(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signin")), credentials).build());
+    }
+
+    private static HttpRequest.Builder authorized(int user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + tokens.get(user));
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder, String body) {
+        return builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static Long anyApplication(int user, SplittableRandom random) {
+        List<Long> ids = applicationIds.get(user);
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String applicationJson(String company, String status) {
+        return "{\"company\":\"" + company + "\",\"position\":\"Engineer\",\"status\":\"" + status
+                + "\",\"dateApplied\":\"2024-05-01\"}";
+    }
+
+    private static String email(int user) {
+        return "load" + user + "@example.com";
+    }
+}
@@ -0,0 +1,131 @@
+package com.jgnproj.applicationtracker.controller;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Closed-loop HTTP load for the load tests: every client is a virtual thread that sends its next request as
+// soon as the previous response arrives, so the measured throughput is what the server sustains at that
+// concurrency. Latencies are recorded per call name; requests started during the warm-up are not recorded.
+// A status of 400 or above, or no response at all, counts as an error.
+final class LoadDriver {
+
+    // One request of a workload; the name groups it in the results
+    record Call(String name, HttpRequest request) {
+    }
+
+    @FunctionalInterface
+    interface Workload {
+        Call next(int client, SplittableRandom random);
+    }
+
+    record Stats(String name, long requests, long errors, Duration measured,
+                 long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+
+        double throughput() {
+            return requests / (measured.toNanos() / 1e9);
+        }
+    }
+
+    private LoadDriver() {
+    }
+
+    // Results by call name, in name order
+    static Map<String, Stats> run(int clients, Duration warmup, Duration measurement, Workload workload)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + measurement.toNanos();
+        List<Map<String, Recorder>> recordersByClient = new ArrayList<>(clients);
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) { // Closed first: waits for the clients
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                Map<String, Recorder> recorders = new HashMap<>();
+                recordersByClient.add(recorders);
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(client);
+                    while (System.nanoTime() < stopAt) {
+                        Call call = workload.next(client, random);
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (start >= measureFrom) {
+                            recorders.computeIfAbsent(call.name(), name -> new Recorder()).record(System.nanoTime() - start, ok);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        // The executor has terminated, so every client's recorders are visible here
+        Map<String, Recorder> merged = new TreeMap<>();
+        for (Map<String, Recorder> recorders : recordersByClient) {
+            recorders.forEach((name, recorder) -> merged.computeIfAbsent(name, n -> new Recorder()).add(recorder));
+        }
+        Map<String, Stats> results = new TreeMap<>();
+        merged.forEach((name, recorder) -> results.put(name, recorder.stats(name, measurement)));
+        return results;
+    }
+
+    static void print(String title, Map<String, Stats> results) {
+        System.out.println(title);
+        System.out.printf("  %-10s %10s %8s %8s %8s %8s %7s%n", "call", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (Stats stats : results.values()) {
+            System.out.printf("  %-10s %10.0f %8.1f %8.1f %8.1f %8.1f %7d%n", stats.name(), stats.throughput(),
+                    stats.p50Nanos() / 1e6, stats.p95Nanos() / 1e6, stats.p99Nanos() / 1e6, stats.maxNanos() / 1e6,
+                    stats.errors());
+        }
+    }
+
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void add(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        Stats stats(String name, Duration measured) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Stats(name, count, errors, measured, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1]);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.jgnproj.applicationtracker.controller;
 
+import com.jgnproj.applicationtracker.config.SecurityConfig;
 import com.jgnproj.applicationtracker.model.User;
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import com.jgnproj.applicationtracker.service.EmailAlreadyRegisteredException;
+import com.jgnproj.applicationtracker.service.PasswordHashingUnavailableException;
+import com.jgnproj.applicationtracker.service.RateLimiter;
 import com.jgnproj.applicationtracker.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,20 +13,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(UserController.class)
+// /api/auth/** must stay reachable without a token; pool timeouts must reach the 503 handler
+@Import({SecurityConfig.class, ConnectionPoolExceptionHandler.class})
 class UserControllerTest {
 
     @Autowired
@@ -30,6 +47,12 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AccessTokenService accessTokenService;
+
+    @MockBean // Returns 0 (allowed) unless a test says otherwise
+    private RateLimiter rateLimiter;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -53,7 +76,9 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isCreated()) // Expect HTTP 201 Created
-                .andExpect(content().string("User registered successfully: " + email));
+                .andExpect(jsonPath("$.message", is("User registered successfully")))
+                .andExpect(jsonPath("$.userId", is(1)))
+                .andExpect(jsonPath("$.email", is(email)));
     }
 
     @Test
@@ -62,7 +87,7 @@ class UserControllerTest {
         String password = "password123";
 
         when(userService.registerNewUser(email, password))
-                .thenThrow(new RuntimeException("User with this email already exists: " + email));
+                .thenThrow(new EmailAlreadyRegisteredException(email));
 
         Map<String, String> payload = new HashMap<>();
         payload.put("email", email);
@@ -95,6 +120,8 @@ class UserControllerTest {
 
         when(userService.findByEmail(email)).thenReturn(Optional.of(user));
         when(userService.checkPassword(password, user.getPasswordHash())).thenReturn(true);
+        when(accessTokenService.issue(1L, email)).thenReturn("signed-token");
+        when(accessTokenService.getTtl()).thenReturn(Duration.ofMinutes(15));
 
         Map<String, String> payload = new HashMap<>();
         payload.put("email", email);
@@ -104,7 +131,12 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isOk()) // Expect HTTP 200 OK
-                .andExpect(content().string("User signed in successfully: " + email));
+                .andExpect(jsonPath("$.message", is("User signed in successfully")))
+                .andExpect(jsonPath("$.userId", is(1)))
+                .andExpect(jsonPath("$.accessToken", is("signed-token"))) // Sent as a bearer token from now on
+                .andExpect(jsonPath("$.tokenType", is("Bearer")))
+                .andExpect(jsonPath("$.expiresIn", is(900)));
+        verify(userService).upgradePasswordIfNeeded(user, password); // Outdated hashes are migrated on sign-in
     }
 
     @Test
@@ -125,6 +157,8 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isUnauthorized()) // Expect HTTP 401 Unauthorized
                 .andExpect(content().string("Invalid credentials"));
+        verify(userService, never()).upgradePasswordIfNeeded(any(User.class), anyString());
+        verify(accessTokenService, never()).issue(any(), anyString()); // No token without a valid password
     }
 
     @Test
@@ -156,4 +190,85 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest()) // Expect HTTP 400 Bad Request
                 .andExpect(content().string("Email and password are required"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSignInShedsLoadWhenHashingPoolSaturated() throws Exception {
+        String email = "user@example.com";
+        String password = "correctPassword";
+        User user = new User(1L, email, "hashedPassword");
+
+        when(userService.findByEmail(email)).thenReturn(Optional.of(user));
+        when(userService.checkPassword(password, user.getPasswordHash()))
+                .thenThrow(new PasswordHashingUnavailableException("Too many concurrent sign-in requests, try again shortly"));
+
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", email);
+        payload.put("password", password);
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isServiceUnavailable()) // Expect HTTP 503, not a queued request
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRegisterUserShedsLoadWhenHashingPoolSaturated() throws Exception {
+        String email = "newuser@example.com";
+        String password = "password123";
+
+        when(userService.registerNewUser(email, password))
+                .thenThrow(new PasswordHashingUnavailableException("Too many concurrent sign-in requests, try again shortly"));
+
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", email);
+        payload.put("password", password);
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isServiceUnavailable()) // Not reported as a 409 conflict
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRegisterUserPoolTimeoutIsNotAConflict() throws Exception {
+        String email = "newuser@example.com";
+        String password = "password123";
+
+        when(userService.registerNewUser(email, password))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 2000ms.")));
+
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", email);
+        payload.put("password", password);
+
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isServiceUnavailable()) // Left to ConnectionPoolExceptionHandler
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testSignInRateLimitedPerIpAddress() throws Exception {
+        when(rateLimiter.tryAcquire(RateLimiter.Group.AUTH, "ip:203.0.113.7")).thenReturn(30_000_000_000L);
+
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", "user@example.com");
+        payload.put("password", "guess");
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isTooManyRequests()) // Expect HTTP 429 before any password hashing
+                .andExpect(header().string("Retry-After", "30"));
+        verify(userService, never()).findByEmail(anyString());
+        verify(userService, never()).checkPassword(anyString(), anyString());
+    }
+}
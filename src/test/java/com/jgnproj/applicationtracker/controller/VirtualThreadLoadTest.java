@@ -0,0 +1,187 @@
+package com.jgnproj.applicationtracker.controller;
+
+import com.jgnproj.applicationtracker.config.SecurityConfig;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.service.AccessTokenService;
+import com.jgnproj.applicationtracker.service.ApplicationEventBus;
+import com.jgnproj.applicationtracker.service.ApplicationExportService;
+import com.jgnproj.applicationtracker.service.ApplicationStatsService;
+import com.jgnproj.applicationtracker.service.JobApplicationService;
+import com.jgnproj.applicationtracker.service.RateLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+// Platform vs virtual request threads (spring.threads.virtual.enabled) on the list and create endpoints,
+// with far more concurrent clients than Tomcat's 200 platform threads. The service is a stand-in for a slow
+// database: every call holds one of DB_CONCURRENCY "connections" for DB_LATENCY, like a query on a pool
+// that is larger than the thread pool. Everything above the service (security filters, rate limiter,
+// Jackson, Tomcat) is the real thing.
+// Run with: mvn -Pload-tests test (prints a comparison table; pinned virtual threads are reported on stderr).
+// The clients are driven by LoadDriver.
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final long USER_ID = 1L;
+    private static final int CLIENTS = 1000;
+    private static final int DB_CONCURRENCY = 1000;
+    private static final Duration DB_LATENCY = Duration.ofMillis(50);
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    @Test
+    void testVirtualThreadsServeMoreConcurrentRequests() throws Exception {
+        LoadDriver.Stats platformList;
+        LoadDriver.Stats platformCreate;
+        LoadDriver.Stats virtualList;
+        LoadDriver.Stats virtualCreate;
+        try (ConfigurableApplicationContext context = start(false)) {
+            platformList = run(list(context));
+            platformCreate = run(create(context));
+        }
+        try (ConfigurableApplicationContext context = start(true)) {
+            virtualList = run(list(context));
+            virtualCreate = run(create(context));
+        }
+
+        System.out.printf("%d clients, stand-in database: %d ms per call, %d concurrent calls%n",
+                CLIENTS, DB_LATENCY.toMillis(), DB_CONCURRENCY);
+        System.out.printf("%-8s %-9s %10s %8s %8s %7s%n", "endpoint", "threads", "req/s", "p50 ms", "p99 ms", "errors");
+        print("list", "platform", platformList);
+        print("list", "virtual", virtualList);
+        print("create", "platform", platformCreate);
+        print("create", "virtual", virtualCreate);
+
+        assertEquals(0, platformList.errors() + platformCreate.errors() + virtualList.errors() + virtualCreate.errors());
+        // 200 platform threads cap throughput near 200 / DB_LATENCY; virtual threads are only capped by the stand-in
+        assertTrue(virtualList.throughput() > platformList.throughput(), "list: virtual threads did not help");
+        assertTrue(virtualCreate.throughput() > platformCreate.throughput(), "create: virtual threads did not help");
+    }
+
+    // The stand-ins are registered as finished singletons, so Spring does not try to inject the real
+    // services' dependencies into the mocks
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        JobApplicationService jobApplicationService = slowJobApplicationService(new SlowDatabase());
+        return new SpringApplicationBuilder(LoadTestApplication.class)
+                .initializers(context -> {
+                    context.getBeanFactory().registerSingleton("jobApplicationService", jobApplicationService);
+                    context.getBeanFactory().registerSingleton("applicationExportService", mock(ApplicationExportService.class));
+                    context.getBeanFactory().registerSingleton("applicationEventBus", mock(ApplicationEventBus.class));
+                    context.getBeanFactory().registerSingleton("applicationStatsService", mock(ApplicationStatsService.class));
+                })
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN",
+                        "app.rate-limit.api.capacity=1000000000",
+                        "app.rate-limit.api.per-minute=1000000000")
+                .run();
+    }
+
+    private static HttpRequest list(ConfigurableApplicationContext context) {
+        return authorized(context, "/api/applications").GET().build();
+    }
+
+    private static HttpRequest create(ConfigurableApplicationContext context) {
+        String body = "{\"company\":\"Acme\",\"position\":\"Engineer\",\"status\":\"Applied\",\"dateApplied\":\"2024-05-01\"}";
+        return authorized(context, "/api/applications")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest.Builder authorized(ConfigurableApplicationContext context, String path) {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String token = context.getBean(AccessTokenService.class).issue(USER_ID, "load@example.com");
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static LoadDriver.Stats run(HttpRequest request) throws InterruptedException {
+        return LoadDriver.run(CLIENTS, WARMUP, MEASUREMENT, (client, random) -> new LoadDriver.Call("request", request))
+                .get("request");
+    }
+
+    private static void print(String endpoint, String threads, LoadDriver.Stats stats) {
+        System.out.printf("%-8s %-9s %10.0f %8.1f %8.1f %7d%n", endpoint, threads, stats.throughput(),
+                stats.p50Nanos() / 1e6, stats.p99Nanos() / 1e6, stats.errors());
+    }
+
+    // Blocks like a JDBC call: waits for a free "connection", then for the query. Semaphore and sleep both
+    // release the carrier thread, so a virtual thread waiting here does not pin.
+    static class SlowDatabase {
+
+        private final Semaphore connections = new Semaphore(DB_CONCURRENCY);
+        private final AtomicLong ids = new AtomicLong();
+
+        <T> Answer<T> call(Answer<T> query) {
+            return invocation -> {
+                connections.acquire();
+                try {
+                    Thread.sleep(DB_LATENCY);
+                    return query.answer(invocation);
+                } finally {
+                    connections.release();
+                }
+            };
+        }
+
+        long nextId() {
+            return ids.incrementAndGet();
+        }
+    }
+
+    // stubOnly: no invocation recording, so the mock neither grows nor serializes the clients
+    private static JobApplicationService slowJobApplicationService(SlowDatabase database) {
+        JobApplicationService service = mock(JobApplicationService.class, withSettings().stubOnly());
+        List<ApplicationSummary> page = new ArrayList<>();
+        for (long id = 1; id <= JobApplicationService.DEFAULT_PAGE_SIZE; id++) {
+            page.add(new ApplicationSummary(id, "Company " + id, "Engineer", ApplicationStatus.APPLIED,
+                    LocalDate.of(2024, 5, 1), LocalDateTime.of(2024, 5, 1, 9, 0), 0L));
+        }
+        when(service.listApplications(eq(USER_ID), any(), anyInt()))
+                .thenAnswer(database.call(invocation -> new ApplicationPage(page, "next")));
+        when(service.createApplication(any(JobApplication.class)))
+                .thenAnswer(database.call(invocation -> {
+                    JobApplication application = invocation.getArgument(0);
+                    application.setId(database.nextId());
+                    application.setLastUpdated(LocalDateTime.now());
+                    return application;
+                }));
+        return service;
+    }
+
+    // Only ever passed to SpringApplicationBuilder. Deliberately not a @SpringBootConfiguration or @Configuration:
+    // the @WebMvcTest slices in this package would boot it instead of ApplicationtrackerApplication, and component
+    // scanning would pick it up.
+    @EnableAutoConfiguration(exclude = {
+            DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, FlywayAutoConfiguration.class
+    })
+    @Import({JobApplicationController.class, SecurityConfig.class, AccessTokenService.class, RateLimiter.class})
+    static class LoadTestApplication {
+    }
+}
@@ -0,0 +1,98 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.config.CacheConfig;
+import com.jgnproj.applicationtracker.dto.BatchOperation;
+import com.jgnproj.applicationtracker.dto.BatchResult;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.service.JobApplicationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Creates always insert, whatever id or version the client sent, against H2
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The JCache CacheManager behind the L2 cache is JVM-wide, so cached rows would leak between test contexts
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({JobApplicationService.class, CacheConfig.class})
+class JobApplicationCreateTest {
+
+    private static final Long USER_A = 1L;
+    private static final Long USER_B = 2L;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testCreateCannotOverwriteAnotherUsersApplication() {
+        JobApplication victim = new JobApplication(USER_B, "Company B", "Position B", ApplicationStatus.OFFER, LocalDate.of(2024, 1, 1), "B's notes");
+        victim.setLastUpdated(LocalDateTime.now());
+        Long victimId = jobApplicationRepository.saveAndFlush(victim).getId();
+        entityManager.clear();
+
+        // User A posts a body carrying B's id and a version, as if updating it
+        JobApplication attack = new JobApplication(victimId, USER_A, "Hijacked", "Hijacked", ApplicationStatus.APPLIED, null, null, null);
+        attack.setVersion(0L);
+        JobApplication created = jobApplicationService.createApplication(attack);
+        jobApplicationRepository.flush();
+        entityManager.clear();
+
+        assertNotEquals(victimId, created.getId());
+        assertEquals(USER_A, created.getUserId());
+        JobApplication untouched = jobApplicationRepository.findById(victimId).orElseThrow();
+        assertEquals(USER_B, untouched.getUserId());
+        assertEquals("Company B", untouched.getCompany());
+        assertEquals(ApplicationStatus.OFFER, untouched.getStatus());
+        assertEquals("Hijacked", jobApplicationRepository.findById(created.getId()).orElseThrow().getCompany());
+    }
+
+    @Test
+    void testCreateIgnoresClientIdWithoutVersion() {
+        JobApplication application = new JobApplication(999_999L, USER_A, "Acme", "Engineer", ApplicationStatus.APPLIED, null, null, null);
+
+        JobApplication created = jobApplicationService.createApplication(application);
+
+        assertNotNull(created.getId());
+        assertNotEquals(999_999L, created.getId());
+    }
+
+    @Test
+    void testBatchCreateCannotOverwriteAnotherUsersApplication() {
+        JobApplication victim = new JobApplication(USER_B, "Company B", "Position B", ApplicationStatus.OFFER, LocalDate.of(2024, 1, 1), "B's notes");
+        victim.setLastUpdated(LocalDateTime.now());
+        Long victimId = jobApplicationRepository.saveAndFlush(victim).getId();
+        entityManager.clear();
+
+        JobApplication attack = new JobApplication(victimId, USER_A, "Hijacked", "Hijacked", ApplicationStatus.APPLIED, null, null, null);
+        attack.setVersion(0L);
+        BatchResult result = jobApplicationService.applyBatch(USER_A, List.of(new BatchOperation(BatchOperation.Type.CREATE, null, attack)));
+        jobApplicationRepository.flush();
+        entityManager.clear();
+
+        Long createdId = result.results().get(0).id();
+        assertNotEquals(victimId, createdId);
+        JobApplication untouched = jobApplicationRepository.findById(victimId).orElseThrow();
+        assertEquals(USER_B, untouched.getUserId());
+        assertEquals("Company B", untouched.getCompany());
+        assertEquals(USER_A, jobApplicationRepository.findById(createdId).orElseThrow().getUserId());
+    }
+}
@@ -0,0 +1,145 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.config.CacheConfig;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationQuery;
+import com.jgnproj.applicationtracker.dto.ApplicationSort;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.service.JobApplicationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Filters, sorting and keyset paging of JobApplicationService.searchApplications against H2, and the
+// summary projection both list paths select.
+// Full-text search (q) needs PostgreSQL and is not covered here.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The JCache CacheManager behind the L2 cache is JVM-wide, so cached rows would leak between test contexts
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({JobApplicationService.class, CacheConfig.class})
+class JobApplicationSearchTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        save(USER_ID, "Acme Corp", ApplicationStatus.APPLIED, LocalDate.of(2024, 3, 1), now);
+        save(USER_ID, "acme labs", ApplicationStatus.INTERVIEWING, LocalDate.of(2024, 1, 15), now);
+        save(USER_ID, "Globex", ApplicationStatus.APPLIED, null, now);
+        save(USER_ID, "Initech", ApplicationStatus.REJECTED, LocalDate.of(2024, 2, 10), now);
+        save(USER_ID, "100%_Real", ApplicationStatus.APPLIED, null, now);
+        save(2L, "Acme Corp", ApplicationStatus.APPLIED, LocalDate.of(2024, 3, 1), now); // Another user's row
+    }
+
+    @Test
+    void testFiltersByStatusAndCompany() {
+        ApplicationPage page = jobApplicationService.searchApplications(USER_ID,
+                query(ApplicationStatus.APPLIED, "acme", null, null, ApplicationSort.LAST_UPDATED, Sort.Direction.DESC), null, 20);
+
+        assertEquals(List.of("Acme Corp"), companies(page.items()));
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testCompanyFilterTreatsWildcardsLiterally() {
+        ApplicationPage page = jobApplicationService.searchApplications(USER_ID,
+                query(null, "%_", null, null, ApplicationSort.COMPANY, Sort.Direction.ASC), null, 20);
+
+        assertEquals(List.of("100%_Real"), companies(page.items()));
+    }
+
+    @Test
+    void testFiltersByDateRangeInclusive() {
+        ApplicationPage page = jobApplicationService.searchApplications(USER_ID,
+                query(null, null, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 10), ApplicationSort.DATE_APPLIED, Sort.Direction.ASC), null, 20);
+
+        assertEquals(List.of("acme labs", "Initech"), companies(page.items()));
+    }
+
+    @Test
+    void testPagesThroughSortWithNullsLast() {
+        ApplicationQuery query = query(null, null, null, null, ApplicationSort.DATE_APPLIED, Sort.Direction.DESC);
+        List<ApplicationSummary> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ApplicationPage page = jobApplicationService.searchApplications(USER_ID, query, cursor, 2);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Acme Corp", "Initech", "acme labs"), companies(seen.subList(0, 3)));
+        assertEquals(5, seen.size()); // Both undated rows come last, none skipped or repeated
+        assertNull(seen.get(3).dateApplied());
+        assertNull(seen.get(4).dateApplied());
+        assertTrue(seen.get(3).id() > seen.get(4).id());
+    }
+
+    @Test
+    void testListSelectsSummaries() {
+        JobApplication application = new JobApplication(USER_ID, "Hooli", "Engineer", ApplicationStatus.OFFER,
+                LocalDate.of(2024, 4, 1), "Long notes that stay on the detail view");
+        application.setLastUpdated(LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS)); // Newest, so first
+        JobApplication saved = jobApplicationRepository.save(application);
+
+        ApplicationSummary first = jobApplicationService.listApplications(USER_ID, null, 10).items().get(0);
+        ApplicationSummary searched = jobApplicationService.searchApplications(USER_ID,
+                query(ApplicationStatus.OFFER, null, null, null, ApplicationSort.LAST_UPDATED, Sort.Direction.DESC), null, 10).items().get(0);
+
+        ApplicationSummary expected = new ApplicationSummary(saved.getId(), "Hooli", "Engineer", ApplicationStatus.OFFER,
+                LocalDate.of(2024, 4, 1), saved.getLastUpdated(), saved.getVersion());
+        assertEquals(expected, first);
+        assertEquals(expected, searched);
+    }
+
+    @Test
+    void testCursorFromAnotherSortRejected() {
+        ApplicationPage page = jobApplicationService.searchApplications(USER_ID,
+                query(null, null, null, null, ApplicationSort.COMPANY, Sort.Direction.ASC), null, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> jobApplicationService.searchApplications(USER_ID,
+                query(null, null, null, null, ApplicationSort.DATE_APPLIED, Sort.Direction.ASC), page.nextCursor(), 1));
+    }
+
+    private void save(Long userId, String company, ApplicationStatus status, LocalDate dateApplied, LocalDateTime lastUpdated) {
+        JobApplication application = new JobApplication(userId, company, "Engineer", status, dateApplied, null);
+        application.setLastUpdated(lastUpdated);
+        jobApplicationRepository.save(application);
+    }
+
+    private static ApplicationQuery query(ApplicationStatus status, String company, LocalDate from, LocalDate to,
+                                          ApplicationSort sort, Sort.Direction direction) {
+        return new ApplicationQuery(status, company, from, to, null, sort, direction);
+    }
+
+    private static List<String> companies(List<ApplicationSummary> applications) {
+        return applications.stream().map(ApplicationSummary::company).toList();
+    }
+}
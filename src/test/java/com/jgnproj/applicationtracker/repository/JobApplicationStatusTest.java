@@ -0,0 +1,91 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Status storage and the transition guard in JobApplicationRepository.updateByIdAndUserId, against H2
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The JCache CacheManager behind the L2 cache is JVM-wide, so cached rows would leak between test contexts
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class JobApplicationStatusTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testStatusIsStoredAsCode() {
+        Long id = save(ApplicationStatus.INTERVIEWING);
+
+        Object stored = entityManager.createNativeQuery("SELECT status FROM job_application WHERE id = ?1")
+                .setParameter(1, id)
+                .getSingleResult();
+
+        assertEquals(ApplicationStatus.INTERVIEWING.getCode(), ((Number) stored).shortValue());
+        assertEquals(ApplicationStatus.INTERVIEWING, reload(id).getStatus());
+    }
+
+    @Test
+    void testUpdateAppliesAllowedTransition() {
+        Long id = save(ApplicationStatus.APPLIED);
+
+        int updated = update(id, ApplicationStatus.INTERVIEWING);
+
+        assertEquals(1, updated);
+        assertEquals(ApplicationStatus.INTERVIEWING, reload(id).getStatus());
+    }
+
+    @Test
+    void testUpdateSkipsRefusedTransition() {
+        Long id = save(ApplicationStatus.REJECTED);
+
+        int updated = update(id, ApplicationStatus.OFFER);
+
+        assertEquals(0, updated);
+        assertEquals(ApplicationStatus.REJECTED, reload(id).getStatus());
+    }
+
+    @Test
+    void testUpdateMovesUnsetStatusAnywhere() {
+        Long id = save(null); // Legacy row whose free-text status matched no ApplicationStatus
+
+        assertEquals(1, update(id, ApplicationStatus.OFFER));
+    }
+
+    private Long save(ApplicationStatus status) {
+        JobApplication application = new JobApplication(USER_ID, "Company", "Engineer", status, LocalDate.now(), null);
+        application.setLastUpdated(LocalDateTime.now());
+        Long id = jobApplicationRepository.saveAndFlush(application).getId();
+        entityManager.clear();
+        return id;
+    }
+
+    private int update(Long id, ApplicationStatus status) {
+        int updated = jobApplicationRepository.updateByIdAndUserId(id, USER_ID, null, status.allowedPredecessors(),
+                "Company", "Engineer", status, LocalDate.now(), null, LocalDateTime.now());
+        entityManager.clear();
+        return updated;
+    }
+
+    private JobApplication reload(Long id) {
+        return jobApplicationRepository.findById(id).orElseThrow();
+    }
+}
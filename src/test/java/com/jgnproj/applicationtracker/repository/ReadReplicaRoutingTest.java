@@ -0,0 +1,72 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.config.ReadReplicaConfig;
+import com.jgnproj.applicationtracker.config.ReplicaRoutingDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two in-memory H2 databases stand in for the primary and the replica; DATABASE() tells which one a
+// transaction's statements actually ran on.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The JCache CacheManager behind the L2 cache is JVM-wide, so cached rows would leak between test contexts
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.datasource.url=jdbc:h2:mem:primarydb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // Keep both configured databases
+@Import(ReadReplicaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each check opens its own transaction
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testDataSourceIsRouted() {
+        assertInstanceOf(ReplicaRoutingDataSource.class, dataSource);
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertEquals("replicadb", databaseIn(true));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primarydb", databaseIn(false));
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        String name = transaction.execute(status -> (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult());
+        return name.toLowerCase();
+    }
+}
@@ -0,0 +1,138 @@
+package com.jgnproj.applicationtracker.repository;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.model.User;
+import com.jgnproj.applicationtracker.service.ApplicationExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against H2 with the real cache configuration. Each step uses its own EntityManager (a new session),
+// so anything not issued as SQL must have come from the second-level or query cache.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ApplicationExportService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Commit for real, so the cache is populated
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Autowired
+    private ApplicationExportService applicationExportService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testSecondFindByIdInNewSessionIssuesNoSql() {
+        JobApplication application = new JobApplication(1L, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), null);
+        application.setLastUpdated(LocalDateTime.now());
+        inTransaction(em -> em.persist(application));
+        Long id = application.getId();
+        inTransaction(em -> em.find(JobApplication.class, id)); // Loads (or re-uses) the cached row
+
+        statistics.clear();
+        JobApplication cached = inSession(em -> em.find(JobApplication.class, id));
+
+        assertEquals("Company A", cached.getCompany());
+        assertEquals(0, statistics.getPrepareStatementCount()); // Zero SQL
+        assertEquals(1, statistics.getDomainDataRegionStatistics("job_application").getHitCount());
+    }
+
+    @Test
+    void testFindByEmailServedFromQueryCache() {
+        inTransaction(em -> em.persist(new User(null, "cached@example.com", "hash")));
+        userRepository.findByEmail("cached@example.com"); // Populates the query cache and the "users" region
+
+        statistics.clear();
+        User user = userRepository.findByEmail("cached@example.com").orElseThrow();
+
+        assertEquals("cached@example.com", user.getEmail());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testEntityUpdateVisibleThroughCache() {
+        JobApplication application = new JobApplication(1L, "Company B", "Position 2", ApplicationStatus.APPLIED, LocalDate.now(), null);
+        application.setLastUpdated(LocalDateTime.now());
+        inTransaction(em -> em.persist(application));
+        Long id = application.getId();
+
+        inTransaction(em -> em.find(JobApplication.class, id).setStatus(ApplicationStatus.INTERVIEWING));
+
+        assertEquals(ApplicationStatus.INTERVIEWING, inSession(em -> em.find(JobApplication.class, id)).getStatus());
+    }
+
+    @Test
+    void testExportStreamBypassesCache() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            JobApplication application = new JobApplication(9L, "Company " + i, "Position", ApplicationStatus.APPLIED, LocalDate.now(), null);
+            application.setLastUpdated(LocalDateTime.now());
+            inTransaction(em -> em.persist(application));
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        applicationExportService.exportNdjson(9L, out);
+
+        assertEquals(3, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(0, statistics.getSecondLevelCachePutCount()); // An export must not flush the cache's working set
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private <T> T inSession(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            return work.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.jgnproj.applicationtracker.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private AccessTokenService accessTokenService;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenService = new AccessTokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testIssuedTokenVerifies() {
+        String token = accessTokenService.issue(42L, "user@example.com");
+
+        Optional<AuthenticatedUser> user = accessTokenService.verify(token);
+
+        assertEquals(Optional.of(new AuthenticatedUser(42L, "user@example.com")), user);
+    }
+
+    @Test
+    void testEmailContainingSeparatorRoundTrips() {
+        String token = accessTokenService.issue(42L, "\"odd:name\"@example.com");
+
+        assertEquals("\"odd:name\"@example.com", accessTokenService.verify(token).orElseThrow().email());
+    }
+
+    @Test
+    void testExpiredTokenRejected() {
+        String token = accessTokenService.issue(42L, "user@example.com");
+        AccessTokenService later = new AccessTokenService(SECRET, Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(15)), ZoneOffset.UTC));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void testTamperedPayloadRejected() {
+        String token = accessTokenService.issue(42L, "user@example.com");
+        String otherPayload = accessTokenService.issue(1L, "user@example.com").split("\\.")[0];
+
+        assertTrue(accessTokenService.verify(otherPayload + token.substring(token.indexOf('.'))).isEmpty());
+    }
+
+    @Test
+    void testTokenFromAnotherKeyRejected() {
+        AccessTokenService otherKey = new AccessTokenService(
+                Base64.getEncoder().encodeToString(new byte[]{
+                        1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                        17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}),
+                Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(accessTokenService.verify(otherKey.issue(42L, "user@example.com")).isEmpty());
+    }
+
+    @Test
+    void testMalformedTokensRejected() {
+        assertTrue(accessTokenService.verify(null).isEmpty());
+        assertTrue(accessTokenService.verify("").isEmpty());
+        assertTrue(accessTokenService.verify("no-signature").isEmpty());
+        assertTrue(accessTokenService.verify("a.b.c").isEmpty());
+        assertTrue(accessTokenService.verify("!!!.???").isEmpty());
+    }
+
+    @Test
+    void testShortSecretRejected() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalStateException.class,
+                () -> new AccessTokenService(shortSecret, Duration.ofMinutes(15), Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationEventBusTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationEventBusTest.class);
+
+    private static final int BUFFER_SIZE = 4;
+
+    // Records what the bus sends instead of writing to a servlet response
+    private static class RecordingEmitter extends SseEmitter {
+        final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private CountDownLatch release = new CountDownLatch(0);
+
+    private final ApplicationEventBus bus = new ApplicationEventBus(BUFFER_SIZE, 2, 60_000, 3600) {
+        @Override
+        SseEmitter newEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter(release);
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bus.shutdown();
+    }
+
+    private static ApplicationChangeEvent updated(Long userId, Long id) {
+        JobApplication application = new JobApplication(id, userId, "Co", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        return new ApplicationChangeEvent(ApplicationChangeEvent.Type.UPDATED, userId, id, application);
+    }
+
+    private static void awaitSent(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testEventsOnlyReachTheOwnersSubscribers() throws Exception {
+        bus.subscribe(1L);
+        bus.subscribe(2L);
+        RecordingEmitter user1 = emitters.get(0);
+        RecordingEmitter user2 = emitters.get(1);
+
+        bus.publish(updated(1L, 10L));
+        bus.publish(updated(1L, 11L));
+        awaitSent(user1, 2);
+
+        assertEquals(2, user1.sent.size());
+        assertTrue(user2.sent.isEmpty());
+    }
+
+    @Test
+    void testSlowConsumerIsEvicted() throws Exception {
+        release = new CountDownLatch(1); // Sends block until released, like a client that stopped reading
+        bus.subscribe(1L);
+        RecordingEmitter slow = emitters.get(0);
+
+        // One event is stuck in send(), the rest fill the buffer, the next overflows it
+        for (long i = 0; i < BUFFER_SIZE + 2; i++) {
+            bus.publish(updated(1L, i));
+        }
+
+        assertTrue(slow.completed);
+        assertEquals(0, bus.getSubscriberCount());
+    }
+
+    @Test
+    void testOldestSubscriberIsDroppedPastPerUserLimit() {
+        bus.subscribe(1L);
+        bus.subscribe(1L);
+        bus.subscribe(1L);
+
+        assertTrue(emitters.get(0).completed);
+        assertFalse(emitters.get(2).completed);
+        assertEquals(2, bus.getSubscriberCount());
+    }
+
+    @Test
+    void testPublishWithoutSubscribersIsANoOp() {
+        bus.publish(updated(42L, 1L));
+
+        assertEquals(0, bus.getSubscriberCount());
+    }
+
+    // What the bus itself keeps per idle subscription: no thread, and a small, fixed amount of heap. The emitters
+    // are stubs, so no connection is opened and the servlet container's own cost per SSE stream is not included.
+    // Run with: mvn -Pload-tests test
+    @Tag("load")
+    @Test
+    void testIdleSubscriptionsHoldNoThreadAndLittleBusHeap() {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeapAfterGc();
+
+        int subscribers = 20_000;
+        for (long userId = 0; userId < subscribers; userId++) {
+            bus.subscribe(userId);
+        }
+        emitters.clear(); // Only count what the bus itself keeps reachable
+
+        long bytesPerSubscriber = (usedHeapAfterGc() - heapBefore) / subscribers;
+        int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+        log.info("{} idle subscriptions: ~{} bytes each in the bus, {} -> {} threads",
+                subscribers, bytesPerSubscriber, threadsBefore, threadsAfter);
+
+        assertEquals(subscribers, bus.getSubscriberCount());
+        assertTrue(threadsAfter - threadsBefore < 5, "idle subscribers must not hold threads");
+        assertTrue(bytesPerSubscriber < 2048, "idle subscriber footprint too large: " + bytesPerSubscriber + " bytes");
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
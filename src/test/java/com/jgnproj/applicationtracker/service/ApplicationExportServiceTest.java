@@ -0,0 +1,132 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ApplicationExportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JobApplicationRepository jobApplicationRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private ApplicationExportService applicationExportService;
+
+    private JobApplication app1;
+    private JobApplication app2;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        app1 = new JobApplication(1L, USER_ID, "Company A", "Engineer", ApplicationStatus.APPLIED, LocalDate.of(2024, 5, 1), "Referral", LocalDateTime.of(2024, 5, 1, 9, 0));
+        app2 = new JobApplication(2L, USER_ID, "Company, Inc.", "Lead \"Platform\"", ApplicationStatus.OFFER, LocalDate.of(2024, 5, 2), null, LocalDateTime.of(2024, 5, 2, 9, 0));
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLineAndDetaches() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(jobApplicationRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(app1, app2).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        applicationExportService.exportNdjson(USER_ID, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Company A", objectMapper.readTree(lines[0]).get("company").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        verify(entityManager).detach(app1);
+        verify(entityManager).detach(app2);
+        assertTrue(closed.get()); // The database cursor must be released
+    }
+
+    @Test
+    void testExportBypassesSecondLevelCacheAndRestoresCacheMode() throws Exception {
+        when(jobApplicationRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(app1, app2), Stream.of(app1, app2));
+
+        applicationExportService.exportNdjson(USER_ID, new ByteArrayOutputStream());
+        applicationExportService.exportCsv(USER_ID, new ByteArrayOutputStream());
+
+        InOrder inOrder = inOrder(session, jobApplicationRepository);
+        for (int i = 0; i < 2; i++) {
+            inOrder.verify(session).setCacheMode(CacheMode.IGNORE);
+            inOrder.verify(jobApplicationRepository).streamByUserId(USER_ID);
+            inOrder.verify(session).setCacheMode(CacheMode.NORMAL);
+        }
+    }
+
+    @Test
+    void testExportNdjsonBytes() throws Exception {
+        when(jobApplicationRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(app1, app2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        applicationExportService.exportNdjson(USER_ID, out);
+
+        // Nothing between the lines but '\n': no separator before a line, and a newline after the last one
+        String expected = objectMapper.writeValueAsString(app1) + "\n" + objectMapper.writeValueAsString(app2) + "\n";
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        assertEquals('{', out.toString(StandardCharsets.UTF_8).split("\n")[1].charAt(0));
+    }
+
+    @Test
+    void testExportCsvQuotesSpecialCharacters() throws Exception {
+        when(jobApplicationRepository.streamByUserId(USER_ID)).thenReturn(Stream.of(app1, app2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        applicationExportService.exportCsv(USER_ID, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,company,position,status,dateApplied,notes,lastUpdated", lines[0]);
+        assertEquals("1,Company A,Engineer,Applied,2024-05-01,Referral,2024-05-01T09:00", lines[1]);
+        assertEquals("2,\"Company, Inc.\",\"Lead \"\"Platform\"\"\",Offer,2024-05-02,,2024-05-02T09:00", lines[2]);
+        verify(entityManager, times(2)).detach(any(JobApplication.class));
+    }
+
+    @Test
+    void testExportEmptyHistory() throws Exception {
+        when(jobApplicationRepository.streamByUserId(USER_ID)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        applicationExportService.exportNdjson(USER_ID, out);
+
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.dto.DashboardSummary;
+import com.jgnproj.applicationtracker.model.ApplicationStat;
+import com.jgnproj.applicationtracker.repository.ApplicationStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ApplicationStatsServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private ApplicationStatRepository applicationStatRepository;
+
+    @InjectMocks
+    private ApplicationStatsService applicationStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetSummaryFromCounters() {
+        when(applicationStatRepository.findByUserIdAndKindIn(eq(USER_ID), any())).thenReturn(List.of(
+                stat(ApplicationStat.STATUS, "2", 3),
+                stat(ApplicationStat.STATUS, "3", 1),
+                stat(ApplicationStat.STATUS, "5", 0), // Emptied bucket, left behind by the trigger
+                stat(ApplicationStat.ENTERED, "2", 4),
+                stat(ApplicationStat.ENTERED, "3", 1),
+                stat(ApplicationStat.TRANSITION, "2->3", 1)));
+
+        DashboardSummary summary = applicationStatsService.getSummary(USER_ID, 12);
+
+        assertEquals(4, summary.total());
+        assertEquals(3L, summary.byStatus().get("Applied"));
+        assertFalse(summary.byStatus().containsKey("Rejected"));
+        assertEquals(List.of(new DashboardSummary.FunnelStage("Applied", 4),
+                new DashboardSummary.FunnelStage("Interviewing", 1),
+                new DashboardSummary.FunnelStage("Offer", 0)), summary.funnel());
+        assertEquals(List.of(new DashboardSummary.Transition("Applied", "Interviewing", 1)), summary.transitions());
+        assertEquals(0.25, summary.responseRate());
+    }
+
+    @Test
+    void testGetSummaryWithoutApplications() {
+        DashboardSummary summary = applicationStatsService.getSummary(USER_ID, 4);
+
+        assertEquals(0, summary.total());
+        assertTrue(summary.byStatus().isEmpty());
+        assertNull(summary.responseRate());
+        assertEquals(4, summary.perWeek().size());
+        assertTrue(summary.perWeek().stream().allMatch(week -> week.count() == 0));
+    }
+
+    @Test
+    void testGetSummaryFillsWeeksWithoutApplications() {
+        LocalDate thisWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate firstWeek = thisWeek.minusWeeks(2);
+        when(applicationStatRepository.findByUserIdAndKindAndBucketGreaterThanEqualOrderByBucket(
+                USER_ID, ApplicationStat.WEEK, firstWeek.toString()))
+                .thenReturn(List.of(stat(ApplicationStat.WEEK, thisWeek.minusWeeks(1).toString(), 5)));
+
+        DashboardSummary summary = applicationStatsService.getSummary(USER_ID, 3);
+
+        assertEquals(List.of(new DashboardSummary.WeekCount(firstWeek, 0),
+                new DashboardSummary.WeekCount(thisWeek.minusWeeks(1), 5),
+                new DashboardSummary.WeekCount(thisWeek, 0)), summary.perWeek());
+    }
+
+    @Test
+    void testGetSummaryRejectsWeeksOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> applicationStatsService.getSummary(USER_ID, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> applicationStatsService.getSummary(USER_ID, ApplicationStatsService.MAX_WEEKS + 1));
+        verify(applicationStatRepository, never()).findByUserIdAndKindAndBucketGreaterThanEqualOrderByBucket(any(), anyString(), anyString());
+    }
+
+    @Test
+    void testRebuildLocksBeforeRecomputing() {
+        applicationStatsService.rebuild();
+
+        InOrder inOrder = inOrder(applicationStatRepository);
+        inOrder.verify(applicationStatRepository).lockApplicationsForRebuild();
+        inOrder.verify(applicationStatRepository).deleteRecomputableStats();
+        inOrder.verify(applicationStatRepository).insertStatusStats();
+        inOrder.verify(applicationStatRepository).insertWeekStats();
+        inOrder.verify(applicationStatRepository).backfillEnteredStats();
+    }
+
+    private static ApplicationStat stat(String kind, String bucket, long total) {
+        return new ApplicationStat(USER_ID, kind, bucket, total);
+    }
+}
@@ -0,0 +1,58 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.repository.ApplicationStatRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// The rebuild at start-up, run by a real context on H2. The rebuild SQL is PostgreSQL-only, so the statistics
+// repository is replaced by a mock that records, for every step, whether it ran in a writable transaction.
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false", // The migrations are PostgreSQL-only; let Hibernate create the H2 schema
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The JCache CacheManager behind the L2 cache is JVM-wide, so cached rows would leak between test contexts
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "app.stats.rebuild-on-startup=true"
+})
+@Import({ApplicationStatsService.class, ApplicationStatsStartupTest.RecordingRepository.class})
+class ApplicationStatsStartupTest {
+
+    // Filled while the context starts, before any test runs
+    private static final List<String> steps = new CopyOnWriteArrayList<>();
+    private static final List<Boolean> inWritableTransaction = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class RecordingRepository {
+
+        @Bean
+        @Primary
+        ApplicationStatRepository recordingApplicationStatRepository() {
+            return mock(ApplicationStatRepository.class, invocation -> {
+                steps.add(invocation.getMethod().getName());
+                inWritableTransaction.add(TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            });
+        }
+    }
+
+    @Test
+    void testStartupRebuildRunsInOneTransaction() {
+        assertEquals(List.of("lockApplicationsForRebuild", "deleteRecomputableStats", "insertStatusStats",
+                "insertWeekStats", "backfillEnteredStats"), steps);
+        assertFalse(inWritableTransaction.contains(false), "steps outside a writable transaction: " + steps);
+    }
+}
@@ -0,0 +1,124 @@
+package com.jgnproj.applicationtracker.service;
+
+import com.jgnproj.applicationtracker.config.CacheConfig;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.ApplicationTombstoneRepository;
+import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Checks the cache annotations on JobApplicationService through the real Spring proxy,
+// with only the cache configuration loaded (no database, no web layer)
+@SpringBootTest(classes = {CacheConfig.class, JobApplicationService.class})
+class JobApplicationCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private JobApplicationService jobApplicationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private JobApplicationRepository jobApplicationRepository;
+
+    @MockBean
+    private ApplicationTombstoneRepository applicationTombstoneRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.APPLICATIONS).clear();
+    }
+
+    @Test
+    void testRepeatedReadsHitTheCache() {
+        JobApplication app = new JobApplication(5L, USER_ID, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.of(app));
+
+        jobApplicationService.getApplicationById(5L, USER_ID);
+        Optional<JobApplication> second = jobApplicationService.getApplicationById(5L, USER_ID);
+
+        assertEquals(Optional.of(app), second);
+        verify(jobApplicationRepository, times(1)).findByIdAndUserId(5L, USER_ID);
+    }
+
+    @Test
+    void testMissesAreNotCached() {
+        when(jobApplicationRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.empty());
+
+        jobApplicationService.getApplicationById(5L, USER_ID);
+        jobApplicationService.getApplicationById(5L, USER_ID);
+
+        verify(jobApplicationRepository, times(2)).findByIdAndUserId(5L, USER_ID);
+    }
+
+    @Test
+    void testOtherUsersDoNotShareEntries() {
+        JobApplication app = new JobApplication(5L, USER_ID, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.of(app));
+        when(jobApplicationRepository.findByIdAndUserId(5L, 2L)).thenReturn(Optional.empty());
+
+        jobApplicationService.getApplicationById(5L, USER_ID);
+
+        assertTrue(jobApplicationService.getApplicationById(5L, 2L).isEmpty());
+    }
+
+    @Test
+    void testUpdateEvictsCachedApplication() {
+        JobApplication app = new JobApplication(5L, USER_ID, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.of(app));
+        when(jobApplicationRepository.updateByIdAndUserId(eq(5L), eq(USER_ID), isNull(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        jobApplicationService.getApplicationById(5L, USER_ID);
+
+        jobApplicationService.updateApplication(5L, USER_ID, null, app);
+        jobApplicationService.getApplicationById(5L, USER_ID);
+
+        verify(jobApplicationRepository, times(2)).findByIdAndUserId(5L, USER_ID);
+    }
+
+    @Test
+    void testDeleteEvictsCachedApplication() {
+        JobApplication app = new JobApplication(5L, USER_ID, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findByIdAndUserId(5L, USER_ID)).thenReturn(Optional.of(app), Optional.empty());
+        when(jobApplicationRepository.deleteByIdAndUserId(5L, USER_ID, null)).thenReturn(1);
+        jobApplicationService.getApplicationById(5L, USER_ID);
+
+        jobApplicationService.deleteApplication(5L, USER_ID, null);
+
+        assertTrue(jobApplicationService.getApplicationById(5L, USER_ID).isEmpty());
+    }
+
+    @Test
+    void testCreatedApplicationIsCached() {
+        JobApplication app = new JobApplication(USER_ID, "Company C", "Position 3", ApplicationStatus.WISHLIST, LocalDate.now(), null);
+        when(jobApplicationRepository.save(any(JobApplication.class))).thenAnswer(invocation -> {
+            JobApplication saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+
+        jobApplicationService.createApplication(app);
+
+        assertTrue(jobApplicationService.getApplicationById(7L, USER_ID).isPresent());
+        verify(jobApplicationRepository, times(0)).findByIdAndUserId(7L, USER_ID);
+    }
+}
@@ -1,16 +1,33 @@
 package com.jgnproj.applicationtracker.service;
 
+import com.jgnproj.applicationtracker.config.CacheConfig;
+import com.jgnproj.applicationtracker.dto.ApplicationPage;
+import com.jgnproj.applicationtracker.dto.ApplicationSummary;
+import com.jgnproj.applicationtracker.dto.BatchOperation;
+import com.jgnproj.applicationtracker.dto.BatchResult;
+import com.jgnproj.applicationtracker.dto.ChangeSet;
+import com.jgnproj.applicationtracker.model.ApplicationStatus;
+import com.jgnproj.applicationtracker.model.ApplicationTombstone;
 import com.jgnproj.applicationtracker.model.JobApplication;
+import com.jgnproj.applicationtracker.repository.ApplicationTombstoneRepository;
 import com.jgnproj.applicationtracker.repository.JobApplicationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime; // Import LocalDateTime
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +36,23 @@ import static org.mockito.Mockito.*;
 
 class JobApplicationServiceTest {
 
+    private static final Long USER_ID = 1L;
+
     @Mock // Mocks the JobApplicationRepository dependency
     private JobApplicationRepository jobApplicationRepository;
 
+    @Mock
+    private ApplicationTombstoneRepository applicationTombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache applicationCache;
+
     @InjectMocks // Injects the mocked repository into the service
     private JobApplicationService jobApplicationService;
 
@@ -29,60 +60,125 @@ class JobApplicationServiceTest {
     void setUp() {
         // Initialize Mockito annotations before each test
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(jobApplicationService, "tombstoneRetention", Duration.ofDays(7));
+        when(cacheManager.getCache(CacheConfig.APPLICATIONS)).thenReturn(applicationCache);
+    }
+
+    @Test
+    void testListApplicationsLastPage() {
+        // Arrange: fewer rows than the page size means there is no next page
+        ApplicationSummary app1 = new ApplicationSummary(1L, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), LocalDateTime.now(), 0L);
+        ApplicationSummary app2 = new ApplicationSummary(2L, "Company B", "Position 2", ApplicationStatus.INTERVIEWING, LocalDate.now(), LocalDateTime.now(), 0L);
+        when(jobApplicationRepository.findFirstPageByUserId(USER_ID, PageRequest.of(0, 11))).thenReturn(Arrays.asList(app1, app2));
+
+        // Act
+        ApplicationPage page = jobApplicationService.listApplications(USER_ID, null, 10);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals("Company A", page.items().get(0).company());
+        assertNull(page.nextCursor());
+        verify(jobApplicationRepository, never()).findAll(); // Never scan the whole table
     }
 
     @Test
-    void testGetAllApplications() {
-        // Arrange: Define the behavior of the mocked repository
-        JobApplication app1 = new JobApplication(1L, "Company A", "Position 1", "Applied", LocalDate.now(), "Notes 1", LocalDateTime.now());
-        JobApplication app2 = new JobApplication(2L, "Company B", "Position 2", "Interviewing", LocalDate.now(), "Notes 2", LocalDateTime.now());
-        List<JobApplication> applications = Arrays.asList(app1, app2);
-        when(jobApplicationRepository.findAll()).thenReturn(applications);
+    void testListApplicationsReturnsCursorWhenMoreRowsExist() {
+        // Arrange: the repository returns pageSize + 1 rows
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        ApplicationSummary app3 = new ApplicationSummary(3L, "Company C", "Position 3", ApplicationStatus.APPLIED, LocalDate.now(), t.plusMinutes(2), 0L);
+        ApplicationSummary app2 = new ApplicationSummary(2L, "Company B", "Position 2", ApplicationStatus.APPLIED, LocalDate.now(), t.plusMinutes(1), 0L);
+        ApplicationSummary app1 = new ApplicationSummary(1L, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), t, 0L);
+        when(jobApplicationRepository.findFirstPageByUserId(USER_ID, PageRequest.of(0, 3))).thenReturn(Arrays.asList(app3, app2, app1));
 
-        // Act: Call the service method
-        List<JobApplication> result = jobApplicationService.getAllApplications();
+        // Act
+        ApplicationPage page = jobApplicationService.listApplications(USER_ID, null, 2);
 
-        // Assert: Verify the result and that the mocked method was called
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Company A", result.get(0).getCompany());
-        verify(jobApplicationRepository, times(1)).findAll(); // Verify findAll was called once
+        // Assert: the extra row is trimmed and the cursor points at the last returned row
+        assertEquals(2, page.items().size());
+        assertNotNull(page.nextCursor());
+        ApplicationCursor cursor = ApplicationCursor.decode(page.nextCursor());
+        assertEquals(app2.lastUpdated(), cursor.lastUpdated());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void testListApplicationsSeeksPastCursor() {
+        // Arrange
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        String token = new ApplicationCursor(t, 7L).encode();
+        when(jobApplicationRepository.findPageByUserIdAfter(USER_ID, t, 7L, PageRequest.of(0, 21))).thenReturn(List.of());
+
+        // Act
+        ApplicationPage page = jobApplicationService.listApplications(USER_ID, token, 20);
+
+        // Assert
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verify(jobApplicationRepository, times(1)).findPageByUserIdAfter(USER_ID, t, 7L, PageRequest.of(0, 21));
+    }
+
+    @Test
+    void testListApplicationsCapsPageSize() {
+        when(jobApplicationRepository.findFirstPageByUserId(eq(USER_ID), any())).thenReturn(List.of());
+
+        jobApplicationService.listApplications(USER_ID, null, 10_000);
+
+        verify(jobApplicationRepository).findFirstPageByUserId(USER_ID, PageRequest.of(0, JobApplicationService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testListApplicationsRejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> jobApplicationService.listApplications(USER_ID, "not-a-cursor", 20));
     }
 
     @Test
     void testGetApplicationByIdFound() {
         // Arrange
         Long id = 1L;
-        JobApplication app = new JobApplication(id, "Company A", "Position 1", "Applied", LocalDate.now(), "Notes 1", LocalDateTime.now());
-        when(jobApplicationRepository.findById(id)).thenReturn(Optional.of(app));
+        JobApplication app = new JobApplication(id, USER_ID, "Company A", "Position 1", ApplicationStatus.APPLIED, LocalDate.now(), "Notes 1", LocalDateTime.now());
+        when(jobApplicationRepository.findByIdAndUserId(id, USER_ID)).thenReturn(Optional.of(app));
 
         // Act
-        Optional<JobApplication> result = jobApplicationService.getApplicationById(id);
+        Optional<JobApplication> result = jobApplicationService.getApplicationById(id, USER_ID);
 
         // Assert
         assertTrue(result.isPresent());
         assertEquals("Company A", result.get().getCompany());
-        verify(jobApplicationRepository, times(1)).findById(id);
+        verify(jobApplicationRepository, times(1)).findByIdAndUserId(id, USER_ID);
     }
 
     @Test
     void testGetApplicationByIdNotFound() {
         // Arrange
         Long id = 1L;
-        when(jobApplicationRepository.findById(id)).thenReturn(Optional.empty());
+        when(jobApplicationRepository.findByIdAndUserId(id, USER_ID)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<JobApplication> result = jobApplicationService.getApplicationById(id, USER_ID);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(jobApplicationRepository, times(1)).findByIdAndUserId(id, USER_ID);
+    }
+
+    @Test
+    void testGetApplicationByIdOfAnotherUser() {
+        // Arrange: the id exists, but not for this user
+        Long id = 1L;
+        when(jobApplicationRepository.findByIdAndUserId(id, 2L)).thenReturn(Optional.empty());
 
         // Act
-        Optional<JobApplication> result = jobApplicationService.getApplicationById(id);
+        Optional<JobApplication> result = jobApplicationService.getApplicationById(id, 2L);
 
         // Assert
         assertFalse(result.isPresent());
-        verify(jobApplicationRepository, times(1)).findById(id);
+        verify(jobApplicationRepository, never()).findById(any());
     }
 
     @Test
     void testCreateApplication() {
         // Arrange
-        JobApplication newApp = new JobApplication("Company C", "Position 3", "Wishlist", LocalDate.now(), "New app notes");
+        JobApplication newApp = new JobApplication(USER_ID, "Company C", "Position 3", ApplicationStatus.WISHLIST, LocalDate.now(), "New app notes");
         // When save is called with any JobApplication, return the same application (simulating persistence)
         when(jobApplicationRepository.save(any(JobApplication.class))).thenAnswer(invocation -> {
             JobApplication app = invocation.getArgument(0);
@@ -98,79 +194,309 @@ class JobApplicationServiceTest {
         assertEquals("Company C", createdApp.getCompany());
         assertNotNull(createdApp.getLastUpdated()); // Verify lastUpdated is set
         verify(jobApplicationRepository, times(1)).save(newApp);
+        verify(eventPublisher).publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.CREATED, USER_ID, createdApp.getId(), createdApp));
     }
 
     @Test
     void testUpdateApplicationSuccess() {
         // Arrange
         Long id = 1L;
-        JobApplication existingApp = new JobApplication(id, "Old Company", "Old Position", "Applied", LocalDate.now(), "Old notes", LocalDateTime.of(2023, 1, 1, 10, 0));
-        JobApplication updatedDetails = new JobApplication("New Company", "New Position", "Interviewing", LocalDate.now().plusDays(1), "Updated notes");
+        JobApplication updatedDetails = new JobApplication(USER_ID, "New Company", "New Position", ApplicationStatus.INTERVIEWING, LocalDate.now().plusDays(1), "Updated notes");
+        when(jobApplicationRepository.updateByIdAndUserId(eq(id), eq(USER_ID), isNull(), eq(ApplicationStatus.INTERVIEWING.allowedPredecessors()),
+                eq("New Company"), eq("New Position"), eq(ApplicationStatus.INTERVIEWING),
+                eq(updatedDetails.getDateApplied()), eq("Updated notes"), any(LocalDateTime.class))).thenReturn(1);
 
-        when(jobApplicationRepository.findById(id)).thenReturn(Optional.of(existingApp));
-        when(jobApplicationRepository.save(any(JobApplication.class))).thenAnswer(invocation -> {
-            JobApplication app = invocation.getArgument(0);
-            assertNotNull(app.getLastUpdated()); // Ensure lastUpdated is updated by service
-            return app;
-        });
+        // Act
+        Optional<JobApplication> result = jobApplicationService.updateApplication(id, USER_ID, null, updatedDetails);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(id, result.get().getId());
+        assertEquals(USER_ID, result.get().getUserId());
+        assertEquals("New Company", result.get().getCompany());
+        assertEquals("New Position", result.get().getPosition());
+        assertEquals(ApplicationStatus.INTERVIEWING, result.get().getStatus());
+        assertNotNull(result.get().getLastUpdated()); // Verify lastUpdated is set
+        assertNull(result.get().getVersion()); // Unknown for unconditional updates
+        // Exactly one statement: no SELECT before the UPDATE and no save()
+        verify(jobApplicationRepository, never()).findById(anyLong());
+        verify(jobApplicationRepository, never()).findByIdAndUserId(anyLong(), anyLong());
+        verify(jobApplicationRepository, never()).save(any(JobApplication.class));
+    }
+
+    @Test
+    void testUpdateApplicationAtExpectedVersion() {
+        // Arrange
+        Long id = 1L;
+        JobApplication updatedDetails = new JobApplication(USER_ID, "New Company", "New Position", ApplicationStatus.OFFER, LocalDate.now(), null);
+        when(jobApplicationRepository.updateByIdAndUserId(eq(id), eq(USER_ID), eq(3L), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
-        JobApplication result = jobApplicationService.updateApplication(id, updatedDetails);
+        Optional<JobApplication> result = jobApplicationService.updateApplication(id, USER_ID, 3L, updatedDetails);
 
         // Assert
-        assertNotNull(result);
-        assertEquals("New Company", result.getCompany());
-        assertEquals("New Position", result.getPosition());
-        assertEquals("Interviewing", result.getStatus());
-        assertNotNull(result.getLastUpdated()); // Verify lastUpdated is updated
-        assertTrue(result.getLastUpdated().isAfter(LocalDateTime.of(2023, 1, 1, 10, 0))); // Ensure it's a new timestamp
-        verify(jobApplicationRepository, times(1)).findById(id);
-        verify(jobApplicationRepository, times(1)).save(existingApp); // Verify save was called with the modified existingApp
+        assertTrue(result.isPresent());
+        assertEquals(4L, result.get().getVersion()); // The UPDATE bumped the version by one
+    }
+
+    @Test
+    void testUpdateApplicationVersionConflict() {
+        // Arrange: the row exists but is no longer at the expected version
+        Long id = 1L;
+        JobApplication updatedDetails = new JobApplication(USER_ID, "New Company", "New Position", ApplicationStatus.OFFER, LocalDate.now(), null);
+        when(jobApplicationRepository.updateByIdAndUserId(eq(id), eq(USER_ID), eq(3L), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        JobApplication current = new JobApplication(id, USER_ID, "Company", "Position", ApplicationStatus.APPLIED, LocalDate.now(), null, LocalDateTime.now());
+        current.setVersion(5L);
+        when(jobApplicationRepository.findByIdAndUserId(id, USER_ID)).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> jobApplicationService.updateApplication(id, USER_ID, 3L, updatedDetails));
     }
 
     @Test
     void testUpdateApplicationNotFound() {
-        // Arrange
+        // Arrange: no row matched the id/user pair
         Long id = 99L;
-        JobApplication updatedDetails = new JobApplication("NonExistent", "Pos", "Applied", LocalDate.now(), "Notes");
-        when(jobApplicationRepository.findById(id)).thenReturn(Optional.empty());
+        JobApplication updatedDetails = new JobApplication(USER_ID, "NonExistent", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), "Notes");
+        when(jobApplicationRepository.updateByIdAndUserId(eq(id), eq(USER_ID), any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(jobApplicationRepository.findByIdAndUserId(id, USER_ID)).thenReturn(Optional.empty());
 
-        // Act & Assert: Expect a RuntimeException
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
-            jobApplicationService.updateApplication(id, updatedDetails);
-        });
-        assertEquals("Job Application not found with id: " + id, thrown.getMessage());
-        verify(jobApplicationRepository, times(1)).findById(id);
+        // Act
+        Optional<JobApplication> result = jobApplicationService.updateApplication(id, USER_ID, null, updatedDetails);
+
+        // Assert
+        assertFalse(result.isPresent());
         verify(jobApplicationRepository, never()).save(any(JobApplication.class)); // Ensure save was NOT called
     }
 
+    @Test
+    void testUpdateApplicationRefusesInvalidTransition() {
+        // Arrange: the version matches, so the status guard is what stopped the UPDATE
+        Long id = 1L;
+        JobApplication updatedDetails = new JobApplication(USER_ID, "Company", "Position", ApplicationStatus.INTERVIEWING, LocalDate.now(), null);
+        when(jobApplicationRepository.updateByIdAndUserId(eq(id), eq(USER_ID), eq(3L), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+        JobApplication current = new JobApplication(id, USER_ID, "Company", "Position", ApplicationStatus.REJECTED, LocalDate.now(), null, LocalDateTime.now());
+        current.setVersion(3L);
+        when(jobApplicationRepository.findByIdAndUserId(id, USER_ID)).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> jobApplicationService.updateApplication(id, USER_ID, 3L, updatedDetails));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateApplicationRequiresStatus() {
+        JobApplication updatedDetails = new JobApplication(USER_ID, "Company", "Position", null, LocalDate.now(), null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> jobApplicationService.updateApplication(1L, USER_ID, null, updatedDetails));
+        verifyNoInteractions(jobApplicationRepository);
+    }
+
     @Test
     void testDeleteApplicationSuccess() {
         // Arrange
         Long id = 1L;
-        when(jobApplicationRepository.existsById(id)).thenReturn(true);
-        doNothing().when(jobApplicationRepository).deleteById(id); // Mock void method
+        when(jobApplicationRepository.deleteByIdAndUserId(id, USER_ID, null)).thenReturn(1);
 
         // Act
-        jobApplicationService.deleteApplication(id);
+        boolean deleted = jobApplicationService.deleteApplication(id, USER_ID, null);
 
         // Assert
-        verify(jobApplicationRepository, times(1)).existsById(id);
-        verify(jobApplicationRepository, times(1)).deleteById(id);
+        assertTrue(deleted);
+        verify(jobApplicationRepository, times(1)).deleteByIdAndUserId(id, USER_ID, null);
+        verify(applicationTombstoneRepository, times(1)).save(argThat(t -> t.getApplicationId().equals(id) && t.getUserId().equals(USER_ID)));
+        verify(eventPublisher).publishEvent(new ApplicationChangeEvent(ApplicationChangeEvent.Type.DELETED, USER_ID, id, null));
+        verify(jobApplicationRepository, never()).existsById(anyLong()); // No pre-check round trip
+        verify(jobApplicationRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void testDeleteApplicationNotFound() {
         // Arrange
         Long id = 99L;
-        when(jobApplicationRepository.existsById(id)).thenReturn(false);
+        when(jobApplicationRepository.deleteByIdAndUserId(id, USER_ID, 2L)).thenReturn(0);
+        when(jobApplicationRepository.existsByIdAndUserId(id, USER_ID)).thenReturn(false);
 
-        // Act & Assert
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
-            jobApplicationService.deleteApplication(id);
+        // Act
+        boolean deleted = jobApplicationService.deleteApplication(id, USER_ID, 2L);
+
+        // Assert
+        assertFalse(deleted);
+        verify(jobApplicationRepository, times(1)).deleteByIdAndUserId(id, USER_ID, 2L);
+        verify(applicationTombstoneRepository, never()).save(any(ApplicationTombstone.class));
+        verifyNoInteractions(eventPublisher); // Nothing changed, nothing to announce
+    }
+
+    @Test
+    void testDeleteApplicationVersionConflict() {
+        Long id = 1L;
+        when(jobApplicationRepository.deleteByIdAndUserId(id, USER_ID, 2L)).thenReturn(0);
+        when(jobApplicationRepository.existsByIdAndUserId(id, USER_ID)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> jobApplicationService.deleteApplication(id, USER_ID, 2L));
+    }
+
+    @Test
+    void testApplyBatchMixedOperations() {
+        // Arrange
+        JobApplication existing = new JobApplication(5L, USER_ID, "Old Co", "Old Pos", ApplicationStatus.APPLIED, LocalDate.now(), "Old", LocalDateTime.of(2023, 1, 1, 10, 0));
+        JobApplication doomed = new JobApplication(6L, USER_ID, "Gone Co", "Pos", ApplicationStatus.REJECTED, LocalDate.now(), null, LocalDateTime.of(2023, 1, 1, 10, 0));
+        when(jobApplicationRepository.findByUserIdAndIdIn(eq(USER_ID), anyCollection())).thenReturn(List.of(existing, doomed));
+        when(jobApplicationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<JobApplication> apps = invocation.getArgument(0);
+            long nextId = 100L;
+            for (JobApplication app : apps) {
+                app.setId(nextId++); // Simulate sequence-assigned ids
+            }
+            return apps;
         });
-        assertEquals("Job Application not found with id: " + id, thrown.getMessage());
-        verify(jobApplicationRepository, times(1)).existsById(id);
-        verify(jobApplicationRepository, never()).deleteById(anyLong()); // Ensure delete was NOT called
+        List<BatchOperation> operations = List.of(
+                new BatchOperation(BatchOperation.Type.CREATE, null, new JobApplication(99L, "New Co", "New Pos", ApplicationStatus.WISHLIST, LocalDate.now(), null)),
+                new BatchOperation(BatchOperation.Type.UPDATE, 5L, new JobApplication(USER_ID, "Old Co", "Old Pos", ApplicationStatus.INTERVIEWING, LocalDate.now(), "Call scheduled")),
+                new BatchOperation(BatchOperation.Type.DELETE, 6L, null),
+                new BatchOperation(BatchOperation.Type.DELETE, 7L, null));
+
+        // Act
+        BatchResult result = jobApplicationService.applyBatch(USER_ID, operations);
+
+        // Assert
+        assertEquals(4, result.results().size());
+        assertEquals(new BatchResult.Item(0, 100L, BatchResult.Status.CREATED), result.results().get(0));
+        assertEquals(new BatchResult.Item(1, 5L, BatchResult.Status.UPDATED), result.results().get(1));
+        assertEquals(new BatchResult.Item(2, 6L, BatchResult.Status.DELETED), result.results().get(2));
+        assertEquals(new BatchResult.Item(3, 7L, BatchResult.Status.NOT_FOUND), result.results().get(3));
+        assertEquals(ApplicationStatus.INTERVIEWING, existing.getStatus());
+        assertTrue(existing.getLastUpdated().isAfter(LocalDateTime.of(2023, 1, 1, 10, 0)));
+        verify(jobApplicationRepository, times(1)).findByUserIdAndIdIn(eq(USER_ID), anyCollection()); // One lookup for all ids
+        verify(jobApplicationRepository, times(1)).deleteAllInBatch(List.of(doomed));
+        verify(applicationTombstoneRepository, times(1)).saveAll(argThat(t -> ((List<ApplicationTombstone>) t).size() == 1));
+        verify(jobApplicationRepository, never()).save(any(JobApplication.class)); // No per-row saves
+        verify(applicationCache).evict("1:5"); // Cached copies of changed rows are invalidated
+        verify(applicationCache).evict("1:6");
+        verify(applicationCache, never()).evict("1:7");
+    }
+
+    @Test
+    void testApplyBatchRefusesInvalidTransition() {
+        JobApplication rejected = new JobApplication(5L, USER_ID, "Co", "Pos", ApplicationStatus.REJECTED, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findByUserIdAndIdIn(eq(USER_ID), anyCollection())).thenReturn(List.of(rejected));
+        List<BatchOperation> operations = List.of(
+                new BatchOperation(BatchOperation.Type.CREATE, null, new JobApplication(USER_ID, "New Co", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), null)),
+                new BatchOperation(BatchOperation.Type.UPDATE, 5L, new JobApplication(USER_ID, "Co", "Pos", ApplicationStatus.OFFER, LocalDate.now(), null)));
+
+        assertThrows(InvalidStatusTransitionException.class, () -> jobApplicationService.applyBatch(USER_ID, operations));
+        assertEquals(ApplicationStatus.REJECTED, rejected.getStatus()); // Refused before anything was changed
+        verify(jobApplicationRepository, never()).saveAll(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testApplyBatchCreateIsScopedToUser() {
+        when(jobApplicationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        JobApplication submitted = new JobApplication(42L, 99L, "Co", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), null, null);
+
+        jobApplicationService.applyBatch(USER_ID, List.of(new BatchOperation(BatchOperation.Type.CREATE, null, submitted)));
+
+        assertNull(submitted.getId()); // Client-supplied ids are ignored
+        assertEquals(USER_ID, submitted.getUserId()); // Owner comes from the request, not the body
+        assertNotNull(submitted.getLastUpdated());
+        verify(jobApplicationRepository, never()).findByUserIdAndIdIn(any(), anyCollection());
+    }
+
+    @Test
+    void testApplyBatchRejectsOversizedBatch() {
+        List<BatchOperation> operations = Collections.nCopies(JobApplicationService.MAX_BATCH_SIZE + 1,
+                new BatchOperation(BatchOperation.Type.DELETE, 1L, null));
+
+        assertThrows(IllegalArgumentException.class, () -> jobApplicationService.applyBatch(USER_ID, operations));
+        verifyNoInteractions(jobApplicationRepository);
+    }
+
+    @Test
+    void testApplyBatchRejectsUpdateWithoutId() {
+        List<BatchOperation> operations = List.of(new BatchOperation(BatchOperation.Type.UPDATE, null,
+                new JobApplication(USER_ID, "Co", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), null)));
+
+        assertThrows(IllegalArgumentException.class, () -> jobApplicationService.applyBatch(USER_ID, operations));
+    }
+
+    @Test
+    void testGetChangesWithoutTokenRequiresResync() {
+        ChangeSet changes = jobApplicationService.getChangesSince(USER_ID, null);
+
+        assertTrue(changes.resyncRequired());
+        assertNotNull(changes.nextToken());
+        assertTrue(ChangeToken.decode(changes.nextToken()).watermark().isBefore(LocalDateTime.now()));
+        verifyNoInteractions(jobApplicationRepository, applicationTombstoneRepository);
+    }
+
+    @Test
+    void testGetChangesReturnsUpdatesAndDeletesSinceWatermark() {
+        // Arrange: everything happened well outside the commit safety window
+        LocalDateTime since = LocalDateTime.now().minusHours(2);
+        JobApplication changed = new JobApplication(3L, USER_ID, "Company C", "Pos", ApplicationStatus.OFFER, LocalDate.now(), null, since.plusMinutes(10));
+        when(jobApplicationRepository.findChangedSince(USER_ID, since, PageRequest.of(0, JobApplicationService.MAX_CHANGES + 1)))
+                .thenReturn(List.of(changed));
+        when(applicationTombstoneRepository.findByUserIdAndDeletedAtAfter(USER_ID, since))
+                .thenReturn(List.of(new ApplicationTombstone(4L, USER_ID, since.plusMinutes(20))));
+
+        // Act
+        ChangeSet changes = jobApplicationService.getChangesSince(USER_ID, new ChangeToken(since).encode());
+
+        // Assert
+        assertFalse(changes.resyncRequired());
+        assertEquals(List.of(changed), changes.changed());
+        assertEquals(List.of(4L), changes.deleted());
+        assertEquals(since.plusMinutes(20), ChangeToken.decode(changes.nextToken()).watermark()); // Latest change seen
+        verify(jobApplicationRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetChangesTokenNeverPassesCommitSafetyWindow() {
+        // Arrange: a change stamped just now may still have slower concurrent commits behind it
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        JobApplication changed = new JobApplication(3L, USER_ID, "Company C", "Pos", ApplicationStatus.OFFER, LocalDate.now(), null, LocalDateTime.now());
+        when(jobApplicationRepository.findChangedSince(eq(USER_ID), eq(since), any())).thenReturn(List.of(changed));
+        when(applicationTombstoneRepository.findByUserIdAndDeletedAtAfter(USER_ID, since)).thenReturn(List.of());
+
+        // Act
+        ChangeSet changes = jobApplicationService.getChangesSince(USER_ID, new ChangeToken(since).encode());
+
+        // Assert
+        assertTrue(ChangeToken.decode(changes.nextToken()).watermark().isBefore(changed.getLastUpdated()));
+    }
+
+    @Test
+    void testGetChangesTooOldTokenRequiresResync() {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+
+        ChangeSet changes = jobApplicationService.getChangesSince(USER_ID, new ChangeToken(since).encode());
+
+        assertTrue(changes.resyncRequired());
+        verifyNoInteractions(jobApplicationRepository);
+    }
+
+    @Test
+    void testGetChangesTooManyChangesRequiresResync() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        List<JobApplication> flood = Collections.nCopies(JobApplicationService.MAX_CHANGES + 1,
+                new JobApplication(1L, USER_ID, "Co", "Pos", ApplicationStatus.APPLIED, LocalDate.now(), null, since.plusMinutes(1)));
+        when(jobApplicationRepository.findChangedSince(eq(USER_ID), eq(since), any())).thenReturn(flood);
+
+        ChangeSet changes = jobApplicationService.getChangesSince(USER_ID, new ChangeToken(since).encode());
+
+        assertTrue(changes.resyncRequired());
+        assertTrue(changes.changed().isEmpty());
+        verifyNoInteractions(applicationTombstoneRepository);
+    }
+
+    @Test
+    void testPurgeExpiredTombstones() {
+        jobApplicationService.purgeExpiredTombstones();
+
+        verify(applicationTombstoneRepository).deleteOlderThan(argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(6))));
     }
 }
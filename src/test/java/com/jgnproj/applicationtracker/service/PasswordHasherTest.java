@@ -0,0 +1,76 @@
+package com.jgnproj.applicationtracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatchesDelegateAndRecordTimings() {
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 2, 4);
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        assertEquals("hash", passwordHasher.encode("secret"));
+        assertTrue(passwordHasher.matches("secret", "hash"));
+
+        assertEquals(1, meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash.queue.wait").timer().count());
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenSaturated() throws Exception {
+        // One thread, one queue slot: the third concurrent request has nowhere to go
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("b"));
+        while (meterRegistry.get("password.hash.queue.size").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHasher.encode("c"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1)); // Shed, not queued
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEncoderFailuresPropagate() {
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1);
+        when(passwordEncoder.matches("x", "not-a-hash")).thenThrow(new IllegalArgumentException("Invalid hash"));
+
+        assertThrows(IllegalArgumentException.class, () -> passwordHasher.matches("x", "not-a-hash"));
+    }
+}
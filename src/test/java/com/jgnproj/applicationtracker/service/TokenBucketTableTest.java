@@ -0,0 +1,98 @@
+package com.jgnproj.applicationtracker.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private TokenBucketTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TokenBucketTable(3, 1.0, 1000, clock::get); // Burst of 3, one token per second
+    }
+
+    @Test
+    void testAllowsBurstThenRejects() {
+        assertEquals(0, table.tryAcquire("user:1"));
+        assertEquals(0, table.tryAcquire("user:1"));
+        assertEquals(0, table.tryAcquire("user:1"));
+
+        long wait = table.tryAcquire("user:1");
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait); // Next token in one second
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            table.tryAcquire("user:1");
+        }
+        assertTrue(table.tryAcquire("user:1") > 0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, table.tryAcquire("user:1"));
+        assertTrue(table.tryAcquire("user:1") > 0); // Only one token earned back
+    }
+
+    @Test
+    void testRejectedRequestsDoNotConsumeTokens() {
+        for (int i = 0; i < 10; i++) {
+            table.tryAcquire("user:1");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, table.tryAcquire("user:1"));
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            table.tryAcquire("user:1");
+        }
+
+        assertTrue(table.tryAcquire("user:1") > 0);
+        assertEquals(0, table.tryAcquire("user:2"));
+    }
+
+    @Test
+    void testEvictIdleDropsOnlyRefilledBuckets() {
+        table.tryAcquire("user:1");
+        table.tryAcquire("user:2");
+        table.tryAcquire("user:2");
+        assertEquals(2, table.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1)); // user:1 is full again, user:2 still owes a token
+        table.evictIdle();
+
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testSizeIsBoundedUnderKeySpraying() {
+        TokenBucketTable small = new TokenBucketTable(1, 1.0, 64, clock::get); // One key per stripe
+
+        for (int i = 0; i < 10_000; i++) {
+            small.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(small.size() <= 64);
+        // New keys beyond the bound share an overflow bucket, so they are still throttled
+        assertTrue(small.tryAcquire("ip:192.0.2.1") > 0);
+    }
+
+    @Test
+    void testInvalidConfigurationRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketTable(0, 1.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketTable(1, 0, 10));
+    }
+}
@@ -7,7 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -20,7 +20,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private UserService userService;
@@ -37,7 +37,7 @@ class UserServiceTest {
         String hashedPassword = "hashedPassword123";
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.empty()); // User does not exist
-        when(passwordEncoder.encode(rawPassword)).thenReturn(hashedPassword);
+        when(passwordHasher.encode(rawPassword)).thenReturn(hashedPassword);
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             user.setId(1L); // Simulate ID being set by DB
@@ -50,7 +50,7 @@ class UserServiceTest {
         assertEquals(email, newUser.getEmail());
         assertEquals(hashedPassword, newUser.getPasswordHash());
         verify(userRepository, times(1)).findByEmail(email);
-        verify(passwordEncoder, times(1)).encode(rawPassword);
+        verify(passwordHasher, times(1)).encode(rawPassword);
         verify(userRepository, times(1)).save(any(User.class));
     }
 
@@ -62,16 +62,27 @@ class UserServiceTest {
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(existingUser)); // User already exists
 
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> {
+        EmailAlreadyRegisteredException thrown = assertThrows(EmailAlreadyRegisteredException.class, () -> {
             userService.registerNewUser(email, rawPassword);
         });
 
         assertEquals("User with this email already exists: " + email, thrown.getMessage());
         verify(userRepository, times(1)).findByEmail(email);
-        verify(passwordEncoder, never()).encode(anyString()); // Hashing should not occur
+        verify(passwordHasher, never()).encode(anyString()); // Hashing should not occur
         verify(userRepository, never()).save(any(User.class)); // Save should not occur
     }
 
+    @Test
+    void testRegisterNewUserConcurrentDuplicate() {
+        String email = "race@example.com";
+
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty()); // Not there yet when checked
+        when(passwordHasher.encode("password123")).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        assertThrows(EmailAlreadyRegisteredException.class, () -> userService.registerNewUser(email, "password123"));
+    }
+
     @Test
     void testFindByEmailFound() {
         String email = "findme@example.com";
@@ -101,10 +112,10 @@ class UserServiceTest {
         String rawPassword = "password123";
         String encodedPassword = "hashedPassword123"; // This would be generated by BCrypt
 
-        when(passwordEncoder.matches(rawPassword, encodedPassword)).thenReturn(true);
+        when(passwordHasher.matches(rawPassword, encodedPassword)).thenReturn(true);
 
         assertTrue(userService.checkPassword(rawPassword, encodedPassword));
-        verify(passwordEncoder, times(1)).matches(rawPassword, encodedPassword);
+        verify(passwordHasher, times(1)).matches(rawPassword, encodedPassword);
     }
 
     @Test
@@ -112,10 +123,44 @@ class UserServiceTest {
         String rawPassword = "wrongpassword";
         String encodedPassword = "hashedPassword123";
 
-        when(passwordEncoder.matches(rawPassword, encodedPassword)).thenReturn(false);
+        when(passwordHasher.matches(rawPassword, encodedPassword)).thenReturn(false);
 
         assertFalse(userService.checkPassword(rawPassword, encodedPassword));
-        verify(passwordEncoder, times(1)).matches(rawPassword, encodedPassword);
+        verify(passwordHasher, times(1)).matches(rawPassword, encodedPassword);
+    }
+
+    @Test
+    void testUpgradePasswordIfNeededRehashesOutdatedHash() {
+        User user = new User(1L, "user@example.com", "$2a$08$legacyHash");
+        when(passwordHasher.needsRehash("$2a$08$legacyHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn("{bcrypt}$2a$10$newHash");
+
+        userService.upgradePasswordIfNeeded(user, "password123");
+
+        assertEquals("{bcrypt}$2a$10$newHash", user.getPasswordHash());
+        verify(userRepository, times(1)).save(user);
     }
-}
 
+    @Test
+    void testUpgradePasswordIfNeededLeavesCurrentHashAlone() {
+        User user = new User(1L, "user@example.com", "{bcrypt}$2a$10$currentHash");
+        when(passwordHasher.needsRehash("{bcrypt}$2a$10$currentHash")).thenReturn(false);
+
+        assertSame(user, userService.upgradePasswordIfNeeded(user, "password123")); // Re-cached unchanged
+
+        verify(passwordHasher, never()).encode(anyString()); // No extra hashing cost
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void testUpgradePasswordIfNeededSkipsWhenHashingPoolBusy() {
+        User user = new User(1L, "user@example.com", "$2a$08$legacyHash");
+        when(passwordHasher.needsRehash("$2a$08$legacyHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenThrow(new PasswordHashingUnavailableException("busy"));
+
+        assertDoesNotThrow(() -> userService.upgradePasswordIfNeeded(user, "password123"));
+
+        assertEquals("$2a$08$legacyHash", user.getPasswordHash());
+        verify(userRepository, never()).save(any(User.class));
+    }
+}